@@ -0,0 +1,88 @@
+package benchmarks;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import control.*;
+import model.*;
+
+/**
+ * Benchmark for the decisions of the sample snake controls in a competition maze.
+ * @author cryingshadow
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ControlBenchmark {
+
+    /**
+     * The name of the sample snake control.
+     */
+    @Param({"IBFS", "BFS", "Greedy", "Random", "Rotating", "UpLeft"})
+    public String control;
+
+    /**
+     * The width and height of the maze.
+     */
+    @Param({"20", "100", "500"})
+    public int size;
+
+    /**
+     * The number of snakes.
+     */
+    @Param({"2", "10"})
+    public int snakeCount;
+
+    /**
+     * The length of the snakes.
+     */
+    @Param({"3", "50"})
+    public int snakeLength;
+
+    /**
+     * The head of the benchmarked snake.
+     */
+    private Position head;
+
+    /**
+     * The maze.
+     */
+    private Maze maze;
+
+    /**
+     * The benchmarked snake control.
+     */
+    private SnakeControl snakeControl;
+
+    /**
+     * Creates the workload.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Walls walls = Workload.walls(this.size, Workload.SEED);
+        final Snakes snakes = Workload.snakes(this.size, this.snakeCount, this.snakeLength, walls, Workload.SEED);
+        this.maze =
+            Workload.maze(this.size, walls, snakes, Workload.food(this.size, walls, snakes, Workload.SEED));
+        this.head = snakes.getAllSnakes().get(0).getHeadPosition();
+        this.snakeControl =
+            Workload
+            .controls(6, Workload.SEED)
+            .stream()
+            .filter(control -> control.getName().equals(this.control))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown sample control: " + this.control));
+    }
+
+    /**
+     * @return The direction chosen by the snake control for the first snake.
+     */
+    @Benchmark
+    public Direction nextDirection() {
+        return this.snakeControl.nextDirection(this.maze, this.head.getX(), this.head.getY());
+    }
+
+}
@@ -0,0 +1,72 @@
+package benchmarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import generators.*;
+import model.*;
+
+/**
+ * Benchmark for generating walls and food.
+ * @author cryingshadow
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GeneratorBenchmark {
+
+    /**
+     * The width and height of the maze.
+     */
+    @Param({"20", "50", "100"})
+    public int size;
+
+    /**
+     * The maze to generate food in.
+     */
+    private Maze maze;
+
+    /**
+     * The seed for the next invocation.
+     */
+    private long seed;
+
+    /**
+     * Creates the workload.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Walls walls = Workload.walls(this.size, Workload.SEED);
+        this.maze = Workload.maze(this.size, walls, new Snakes(), new FoodPositions(new FoodGenerator()));
+        this.seed = Workload.SEED;
+    }
+
+    /**
+     * @return Food for a fifth of the free fields.
+     */
+    @Benchmark
+    public Collection<Position> generateFood() {
+        final FoodGenerator generator = new FoodGenerator(new SplittableRandom(this.seed++));
+        generator.setAmount(this.maze.getFreePositions().size() / 5);
+        return generator.generateFood(this.maze);
+    }
+
+    /**
+     * @return Walls for a maze of the benchmark's size.
+     */
+    @Benchmark
+    public Collection<Position> generateMaze() {
+        return new MazeGenerator(new SplittableRandom(this.seed++)).generateMaze(
+            this.size,
+            this.size,
+            false,
+            Workload.wallsFor(this.size)
+        );
+    }
+
+}
@@ -0,0 +1,94 @@
+package benchmarks;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import control.*;
+import model.*;
+
+/**
+ * Benchmark for computing the maze from the walls, food, and snakes (formerly CompetitionControl.toMaze) from scratch
+ * and incrementally after a move of all snakes.
+ * @author cryingshadow
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MazeBenchmark {
+
+    /**
+     * The width and height of the maze.
+     */
+    @Param({"20", "100", "500"})
+    public int size;
+
+    /**
+     * The number of snakes.
+     */
+    @Param({"2", "10"})
+    public int snakeCount;
+
+    /**
+     * The length of the snakes.
+     */
+    @Param({"3", "50", "500"})
+    public int snakeLength;
+
+    /**
+     * The engine for incremental updates.
+     */
+    private MazeEngine engine;
+
+    /**
+     * The food.
+     */
+    private FoodPositions food;
+
+    /**
+     * The snakes.
+     */
+    private Snakes snakes;
+
+    /**
+     * The walls.
+     */
+    private Walls walls;
+
+    /**
+     * Creates the workload.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.walls = Workload.walls(this.size, Workload.SEED);
+        this.snakes = Workload.snakes(this.size, this.snakeCount, this.snakeLength, this.walls, Workload.SEED);
+        this.food = Workload.food(this.size, this.walls, this.snakes, Workload.SEED);
+        this.engine = new MazeEngine();
+        this.engine.rebuild(this.size, this.size, this.snakes, this.walls, this.food);
+    }
+
+    /**
+     * @return The maze computed from scratch.
+     */
+    @Benchmark
+    public Maze build() {
+        return MazeEngine.build(this.size, this.size, this.snakes, this.walls, this.food);
+    }
+
+    /**
+     * @return The maze updated after marking the fields at the heads and tails of all snakes as changed like after a
+     *         move of all snakes.
+     */
+    @Benchmark
+    public Maze update() {
+        for (final Snake snake : this.snakes.getAllSnakes()) {
+            this.engine.markChanged(snake.getHeadPosition());
+            snake.getTailPosition().ifPresent(this.engine::markChanged);
+        }
+        return this.engine.update(this.size, this.size, this.snakes, this.walls, this.food);
+    }
+
+}
@@ -0,0 +1,136 @@
+package benchmarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import control.*;
+import model.*;
+
+/**
+ * Benchmark for deciding the next directions of many snakes in one turn with platform or virtual worker threads.
+ * Measures turns per second and counts the decisions missing the deadline of the turn.
+ * @author cryingshadow
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SchedulerBenchmark {
+
+    /**
+     * The width and height of the maze.
+     */
+    private static final int SIZE = 200;
+
+    /**
+     * Counts the decisions and the decisions missing the deadline such that JMH reports them as secondary results
+     * (their ratio is the timeout rate).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        /**
+         * The number of requested decisions.
+         */
+        public long decisions;
+
+        /**
+         * The number of decisions missing the deadline or failing.
+         */
+        public long timeouts;
+
+        /**
+         * Resets the counters.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.decisions = 0;
+            this.timeouts = 0;
+        }
+
+    }
+
+    /**
+     * The kind of worker threads.
+     */
+    @Param({"PLATFORM_THREADS", "VIRTUAL_THREADS"})
+    public ExecutionMode mode;
+
+    /**
+     * The number of snakes.
+     */
+    @Param({"10", "100", "1000"})
+    public int snakeCount;
+
+    /**
+     * The maze.
+     */
+    private Maze maze;
+
+    /**
+     * The scheduler.
+     */
+    private TurnScheduler scheduler;
+
+    /**
+     * The snakes.
+     */
+    private List<Snake> snakes;
+
+    /**
+     * Creates the workload and starts the workers.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Walls walls = Workload.walls(SchedulerBenchmark.SIZE, Workload.SEED);
+        final Snakes snakes =
+            Workload.snakes(
+                SchedulerBenchmark.SIZE,
+                Workload.controls(this.snakeCount, Workload.SEED),
+                3,
+                walls,
+                Workload.SEED
+            );
+        this.maze =
+            Workload.maze(
+                SchedulerBenchmark.SIZE,
+                walls,
+                snakes,
+                Workload.food(SchedulerBenchmark.SIZE, walls, snakes, Workload.SEED)
+            );
+        this.snakes = snakes.getAllSnakes();
+        final Settings settings = new Settings();
+        settings.setExecutionMode(this.mode);
+        this.scheduler = new TurnScheduler(this.snakeCount, settings);
+    }
+
+    /**
+     * Stops the workers.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.scheduler.shutdown();
+    }
+
+    /**
+     * @param outcomes The counters for decisions and timeouts.
+     * @return The next directions of all snakes.
+     */
+    @Benchmark
+    public Direction[] turn(final Outcomes outcomes) {
+        final Direction[] res = this.scheduler.decide(this.snakes, this.maze);
+        for (final Direction direction : res) {
+            outcomes.decisions++;
+            if (direction == null) {
+                outcomes.timeouts++;
+            }
+        }
+        return res;
+    }
+
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import model.*;
+import util.*;
+
+/**
+ * Benchmark for moving a snake.
+ * @author cryingshadow
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SnakeBenchmark {
+
+    /**
+     * The width and height of the maze.
+     */
+    private static final int SIZE = 1000;
+
+    /**
+     * The length of the snake.
+     */
+    @Param({"3", "50", "2000"})
+    public int snakeLength;
+
+    /**
+     * The snake.
+     */
+    private Snake snake;
+
+    /**
+     * Creates the snake.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.snake =
+            Workload
+            .snakes(SnakeBenchmark.SIZE, 1, this.snakeLength, new Walls(Collections.emptyList()), Workload.SEED)
+            .getAllSnakes()
+            .get(0);
+    }
+
+    /**
+     * @return The snake after moving one field to the right.
+     */
+    @Benchmark
+    public Snake normalMove() {
+        final Position head = this.snake.getHeadPosition();
+        this.snake =
+            this.snake.normalMove(
+                new Pair<Position, Boolean>(
+                    new Position((head.getX() + 1) % SnakeBenchmark.SIZE, head.getY()),
+                    false
+                )
+            );
+        return this.snake;
+    }
+
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import control.*;
+
+/**
+ * Benchmark for complete turns of a competition with the sample snake controls.
+ * @author cryingshadow
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TurnBenchmark {
+
+    /**
+     * The width and height of the maze.
+     */
+    @Param({"20", "100", "500"})
+    public int size;
+
+    /**
+     * The number of snakes.
+     */
+    @Param({"2", "6", "10"})
+    public int snakeCount;
+
+    /**
+     * The initial length of the snakes.
+     */
+    @Param({"3", "50"})
+    public int snakeLength;
+
+    /**
+     * The competition.
+     */
+    private CompetitionControl control;
+
+    /**
+     * Creates the competition.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.control = Workload.competition(this.size, this.snakeCount, this.snakeLength, Workload.SEED);
+    }
+
+    /**
+     * Shuts the competition down.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        this.control.shutdown();
+    }
+
+    /**
+     * Plays a single turn.
+     */
+    @Benchmark
+    public void turn() {
+        this.control.turn();
+    }
+
+}
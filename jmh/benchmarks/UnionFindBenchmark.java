@@ -0,0 +1,97 @@
+package benchmarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import model.*;
+import util.*;
+
+/**
+ * Benchmark for joining all neighboring free fields of a maze in a union find data structure like the maze generator
+ * does for checking connectivity.
+ * @author cryingshadow
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class UnionFindBenchmark {
+
+    /**
+     * The width and height of the maze.
+     */
+    @Param({"20", "100", "500"})
+    public int size;
+
+    /**
+     * The walls.
+     */
+    private Walls walls;
+
+    /**
+     * Creates the workload.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.walls = Workload.walls(this.size, Workload.SEED);
+    }
+
+    /**
+     * @return The number of classes of free fields using the union find on packed positions.
+     */
+    @Benchmark
+    public int intUnionFind() {
+        final IntUnionFind union = new IntUnionFind(this.size * this.size);
+        for (int x = 0; x < this.size; x++) {
+            for (int y = 0; y < this.size; y++) {
+                final int pos = Position.pack(x, y);
+                if (this.walls.isWall(pos)) {
+                    continue;
+                }
+                union.add(pos);
+                final int right = Position.pack((x + 1) % this.size, y);
+                if (!this.walls.isWall(right)) {
+                    union.union(pos, right);
+                }
+                final int up = Position.pack(x, (y + 1) % this.size);
+                if (!this.walls.isWall(up)) {
+                    union.union(pos, up);
+                }
+            }
+        }
+        return union.getNumberOfClasses();
+    }
+
+    /**
+     * @return The number of classes of free fields using the generic union find on positions.
+     */
+    @Benchmark
+    public int unionFind() {
+        final UnionFind<Position> union = new UnionFind<Position>();
+        for (int x = 0; x < this.size; x++) {
+            for (int y = 0; y < this.size; y++) {
+                final Position pos = new Position(x, y);
+                if (this.walls.isWall(pos)) {
+                    continue;
+                }
+                union.add(pos);
+                final Position right = new Position((x + 1) % this.size, y);
+                if (!this.walls.isWall(right)) {
+                    union.add(right);
+                    union.union(pos, right);
+                }
+                final Position up = new Position(x, (y + 1) % this.size);
+                if (!this.walls.isWall(up)) {
+                    union.add(up);
+                    union.union(pos, up);
+                }
+            }
+        }
+        return union.getClasses().size();
+    }
+
+}
@@ -0,0 +1,249 @@
+package benchmarks;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.function.*;
+
+import control.*;
+import control.samples.*;
+import generators.*;
+import model.*;
+import util.*;
+
+/**
+ * Generator of fixed-seed workloads for the benchmarks. All random decisions are derived from the specified seeds such
+ * that the same parameters yield the same workload on every run and machine.
+ * @author cryingshadow
+ */
+public final class Workload {
+
+    /**
+     * The seed used by all benchmarks unless specified otherwise.
+     */
+    public static final long SEED = 0x5EED5EEDL;
+
+    /**
+     * Creates a competition with the specified number of sample snake controls (repeating the samples if more snakes
+     * than samples are requested) ready for playing turns. Snakes respawn such that the competition does not end.
+     * @param size The width and height of the maze.
+     * @param snakeCount The number of snakes.
+     * @param snakeLength The initial length of the snakes.
+     * @param seed The seed.
+     * @return The prepared competition control.
+     */
+    public static CompetitionControl competition(
+        final int size,
+        final int snakeCount,
+        final int snakeLength,
+        final long seed
+    ) {
+        final Settings settings = Workload.settings(size, snakeLength, seed);
+        final CompetitionControl control =
+            new CompetitionControl(settings, new Maze(settings), new Snakes(), new SnakeControls(), new Competition());
+        control.generateWalls();
+        control.initSnakes(Workload.controls(snakeCount, seed));
+        control.prepareCompetition();
+        return control;
+    }
+
+    /**
+     * @param snakeCount The number of snake controls.
+     * @param seed The seed for randomized controls.
+     * @return Fresh sample snake controls, repeating the samples if more controls than samples are requested.
+     */
+    public static List<SnakeControl> controls(final int snakeCount, final long seed) {
+        final List<Function<Random, SnakeControl>> samples = SampleControls.factories();
+        final SplittableRandom random = new SplittableRandom(seed);
+        final List<SnakeControl> res = new ArrayList<SnakeControl>(snakeCount);
+        for (int i = 0; i < snakeCount; i++) {
+            res.add(samples.get(i % samples.size()).apply(new Random(random.nextLong())));
+        }
+        return res;
+    }
+
+    /**
+     * @param size The width and height of the maze.
+     * @param walls The walls.
+     * @param snakes The snakes.
+     * @param seed The seed.
+     * @return Food positions with food on a fifth of the free fields.
+     */
+    public static FoodPositions food(final int size, final Walls walls, final Snakes snakes, final long seed) {
+        final FoodPositions food = new FoodPositions(new FoodGenerator(new SplittableRandom(seed)));
+        final Maze maze = Workload.maze(size, walls, snakes, food);
+        food.setMinAmount(Math.max(1, maze.getFreePositions().size() / 5));
+        food.generateFood(maze);
+        return food;
+    }
+
+    /**
+     * @param size The width and height of the maze.
+     * @param walls The walls.
+     * @param snakes The snakes.
+     * @param food The food.
+     * @return The maze.
+     */
+    public static Maze maze(final int size, final Walls walls, final Snakes snakes, final FoodPositions food) {
+        return MazeEngine.build(size, size, snakes, walls, food);
+    }
+
+    /**
+     * @param size The width and height of the maze.
+     * @param snakeLength The initial length of the snakes.
+     * @param seed The seed.
+     * @return Settings for a respawning competition in a maze of the specified size.
+     */
+    public static Settings settings(final int size, final int snakeLength, final long seed) {
+        final Settings settings = new Settings();
+        settings.setWidth(size);
+        settings.setHeight(size);
+        settings.setWalls(Workload.wallsFor(size));
+        settings.setInitialSnakeLength(snakeLength);
+        settings.setMaxHunger(Optional.empty());
+        settings.setRespawning(true);
+        settings.setSeed(Optional.of(seed));
+        return settings;
+    }
+
+    /**
+     * Creates snakes whose bodies are fully placed in the maze. Each snake starts at a random free field and grows
+     * along a random walk preferring fields it does not occupy yet.
+     * @param size The width and height of the maze.
+     * @param snakeCount The number of snakes.
+     * @param snakeLength The length of the snakes.
+     * @param walls The walls.
+     * @param seed The seed.
+     * @return The snakes.
+     */
+    public static Snakes snakes(
+        final int size,
+        final int snakeCount,
+        final int snakeLength,
+        final Walls walls,
+        final long seed
+    ) {
+        final List<SnakeControl> controls = new ArrayList<SnakeControl>(snakeCount);
+        for (int i = 0; i < snakeCount; i++) {
+            controls.add(new UpLeftSnakeControl());
+        }
+        return Workload.snakes(size, controls, snakeLength, walls, seed);
+    }
+
+    /**
+     * Creates snakes controlled by the specified snake controls whose bodies are fully placed in the maze. Each snake
+     * starts at a random free field and grows along a random walk preferring fields it does not occupy yet.
+     * @param size The width and height of the maze.
+     * @param controls The snake controls.
+     * @param snakeLength The length of the snakes.
+     * @param walls The walls.
+     * @param seed The seed.
+     * @return The snakes.
+     */
+    public static Snakes snakes(
+        final int size,
+        final List<SnakeControl> controls,
+        final int snakeLength,
+        final Walls walls,
+        final long seed
+    ) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final List<Snake> res = new ArrayList<Snake>(controls.size());
+        for (final SnakeControl control : controls) {
+            Position head = new Position(random.nextInt(size), random.nextInt(size));
+            while (walls.isWall(head)) {
+                head = new Position(random.nextInt(size), random.nextInt(size));
+            }
+            Snake snake = new Snake(head, 1, Optional.empty(), Color.RED, control);
+            final CellSet occupied = new CellSet();
+            occupied.add(head.pack());
+            for (int length = 1; length < snakeLength; length++) {
+                final Position next = Workload.nextStep(size, snake.getHeadPosition(), occupied, walls, random);
+                occupied.add(next.pack());
+                snake = snake.growingMove(new Pair<Position, Boolean>(next, false));
+            }
+            res.add(snake);
+        }
+        final Snakes snakes = new Snakes();
+        snakes.setSnakes(res);
+        return snakes;
+    }
+
+    /**
+     * @param size The width and height of the maze.
+     * @param seed The seed.
+     * @return Walls generated for a maze of the specified size.
+     */
+    public static Walls walls(final int size, final long seed) {
+        return new Walls(
+            new MazeGenerator(new SplittableRandom(seed)).generateMaze(size, size, false, Workload.wallsFor(size))
+        );
+    }
+
+    /**
+     * @param size The width and height of the maze.
+     * @return A reasonable number of walls for a maze of the specified size that can still be generated quickly.
+     */
+    public static int wallsFor(final int size) {
+        return size * 2;
+    }
+
+    /**
+     * @param size The width and height of the maze.
+     * @param head The current head position.
+     * @param occupied The packed positions already occupied by the snake.
+     * @param walls The walls.
+     * @param random The random number generator.
+     * @return A random neighbor of the head preferring fields that are neither occupied nor walls.
+     */
+    private static Position nextStep(
+        final int size,
+        final Position head,
+        final CellSet occupied,
+        final Walls walls,
+        final SplittableRandom random
+    ) {
+        final Direction[] directions = Direction.values();
+        final int offset = random.nextInt(directions.length);
+        Position fallback = null;
+        for (int i = 0; i < directions.length; i++) {
+            final Position next = Workload.step(size, head, directions[(offset + i) % directions.length]);
+            if (walls.isWall(next)) {
+                continue;
+            }
+            if (!occupied.contains(next.pack())) {
+                return next;
+            }
+            fallback = next;
+        }
+        return fallback == null ? head : fallback;
+    }
+
+    /**
+     * @param size The width and height of the maze.
+     * @param pos A position.
+     * @param direction A direction.
+     * @return The neighbor of the specified position in the specified direction wrapped at the maze borders.
+     */
+    private static Position step(final int size, final Position pos, final Direction direction) {
+        switch (direction) {
+            case DOWN:
+                return new Position(pos.getX(), Math.floorMod(pos.getY() - 1, size));
+            case LEFT:
+                return new Position(Math.floorMod(pos.getX() - 1, size), pos.getY());
+            case RIGHT:
+                return new Position(Math.floorMod(pos.getX() + 1, size), pos.getY());
+            case UP:
+                return new Position(pos.getX(), Math.floorMod(pos.getY() + 1, size));
+            default:
+                throw new IllegalStateException("Someone found a new direction...");
+        }
+    }
+
+    /**
+     * Utility class.
+     */
+    private Workload() {
+    }
+
+}
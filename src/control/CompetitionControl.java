@@ -1,86 +1,44 @@
 package control;
 
 import java.util.*;
-import java.util.concurrent.*;
-import java.util.function.*;
 import java.util.stream.*;
 
-import javax.swing.event.*;
-
 import generators.*;
 import model.*;
 import util.*;
 
 public class CompetitionControl {
 
-    private static Field[][] toMaze(
-        final int width,
-        final int height,
-        final Snakes snakes,
-        final Walls walls,
-        final FoodPositions food
-    ) {
-        final Field[][] maze = new Field[height][width];
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                final Position curPos = new Position(x, y);
-                final Field curField;
-                if (snakes.isSnake(curPos)) {
-                    final Optional<Snake> snake = snakes.getUniqueSnakeAt(curPos);
-                    if (snake.isPresent()) {
-                        final Snake actualSnake = snake.get();
-                        if (actualSnake.selfCollisionAt(curPos)) {
-                            curField = new Field(FieldType.COLLISION_ON_FREE, Optional.empty());
-                        } else if (walls.isWall(curPos)) {
-                            curField = new Field(FieldType.COLLISION_ON_WALL, Optional.empty());
-                        } else {
-                            if (actualSnake.getHeadPosition().equals(curPos)) {
-                                if (food.isFood(curPos)) {
-                                    curField =
-                                        new Field(FieldType.SNAKE_HEAD_EATING, Optional.of(actualSnake.getColor()));
-                                } else {
-                                    curField = new Field(FieldType.SNAKE_HEAD, Optional.of(actualSnake.getColor()));
-                                }
-                            } else {
-                                curField = new Field(FieldType.SNAKE_BODY, Optional.of(actualSnake.getColor()));
-                            }
-                        }
-                    } else if (food.isFood(curPos)) {
-                        curField = new Field(FieldType.COLLISION_ON_FOOD, Optional.empty());
-                    } else {
-                        curField = new Field(FieldType.COLLISION_ON_FREE, Optional.empty());
-                    }
-                } else if (walls.isWall(curPos)) {
-                    curField = new Field(FieldType.WALL, Optional.empty());
-                } else if (food.isFood(curPos)) {
-                    curField = new Field(FieldType.FOOD, Optional.empty());
-                } else {
-                    curField = new Field(FieldType.FREE, Optional.empty());
-                }
-                maze[y][x] = curField;
-            }
-        }
-        return maze;
-    }
-
     private final Competition competition;
 
-    private ExecutorService executor;
+    private Collection<Position> eatenFood;
+
+    private final MazeEngine engine;
 
-    private final FoodPositions food;
+    private final TurnEventBus events;
+
+    private FoodPositions food;
 
     private final Maze maze;
 
-    private final MazeGenerator mazeGenerator;
+    private MazeGenerator mazeGenerator;
+
+    private TurnScheduler scheduler;
+
+    private long seed;
+
+    private Optional<SnapshotExchange> snapshots;
 
     private final Settings settings;
 
     private final SnakeControls snakeControls;
 
-    private final SnakeGenerator snakeGenerator;
+    private SnakeGenerator snakeGenerator;
 
     private final Snakes snakes;
 
+    private long timeoutSeed;
+
     private final Walls walls;
 
     public CompetitionControl(
@@ -91,30 +49,21 @@ public class CompetitionControl {
         final Competition competition
     ) {
         this.settings = settings;
-        this.mazeGenerator = new MazeGenerator();
-        this.snakeGenerator = new SnakeGenerator();
+        this.reseed();
         this.walls = new Walls(Collections.emptyList());
-        this.food = new FoodPositions(new FoodGenerator());
+        this.engine = new MazeEngine();
+        this.eatenFood = Collections.emptyList();
         this.snakes = snakes;
         this.competition = competition;
         this.maze = maze;
         this.snakeControls = snakeControls;
-        this.executor = Executors.newFixedThreadPool(Math.max(1, snakeControls.getSnakeControls().size()));
-        this.snakes.addChangeListener(
-            new ChangeListener() {
-
-                @Override
-                public void stateChanged(final ChangeEvent e) {
-                    if (CompetitionControl.this.snakes.getAliveSnakes().isEmpty()) {
-                        CompetitionControl.this.competition.setRunning(false);
-                    }
-                }
-
-            }
-        );
+        this.snapshots = Optional.empty();
+        this.scheduler = new TurnScheduler(snakeControls.getSnakeControls().size(), settings);
+        this.events = new TurnEventBus();
     }
 
     public void generateWalls() {
+        this.reseed();
         this.snakes.clear();
         this.food.clear();
         this.walls.setWalls(
@@ -129,17 +78,22 @@ public class CompetitionControl {
         this.removeSnakePositions();
     }
 
+    public TurnEventBus getEvents() {
+        return this.events;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
     public void initSnakes(final List<SnakeControl> controls) {
-        this.snakeControls.setSnakeControls(controls);
-        this.executor.shutdown();
-        try {
-            if (!this.executor.awaitTermination(800, TimeUnit.MILLISECONDS)) {
-                this.executor.shutdownNow();
-            }
-        } catch (final InterruptedException e) {
-            this.executor.shutdownNow();
-        }
-        this.executor = Executors.newFixedThreadPool(Math.max(1, controls.size()));
+        // stop the workers first such that none of them still waits for a process to be closed
+        this.scheduler.shutdown();
+        this.closeRemoteControls();
+        this.snakeControls.setSnakeControls(
+            this.settings.getExecutionMode() == ExecutionMode.PROCESSES ? RemoteSnakeControl.wrap(controls) : controls
+        );
+        this.scheduler = new TurnScheduler(controls.size(), this.settings);
         this.generateSnakePositions();
         this.removeSnakePositions();
     }
@@ -148,70 +102,122 @@ public class CompetitionControl {
         this.initSnakes(DynamicCompiler.compileAndLoad(this.settings.getSourceDirectory().get()));
     }
 
-    public void startCompetition() {
+    public void prepareCompetition() {
+        // every competition starts from the seed instead of continuing the streams consumed by earlier ones
+        this.reseed();
         this.generateSnakePositions();
         this.food.setMinAmount(this.settings.getFoodPerSnake() * this.snakes.getAliveSnakes().size());
-        this.food.generateFood(new Maze(this.getCurrentMaze()));
-        this.maze.setMaze(this.getCurrentMaze());
+        this.engine.markChanged(this.food.generateFood(this.getCurrentMaze()));
+        this.setMaze(this.getUpdatedMaze());
+        this.scheduler.reset();
         this.competition.reset();
         this.competition.setRunning(true);
+    }
+
+    public void publishSnapshotsTo(final SnapshotExchange snapshots) {
+        this.snapshots = Optional.of(snapshots);
+        this.publishSnapshot();
+    }
+
+    public void shutdown() {
+        this.scheduler.shutdown();
+        this.closeRemoteControls();
+    }
+
+    public Thread startCompetition() {
+        this.prepareCompetition();
         final Thread turnThread = new Thread(new TurnControl(this.settings, this.competition, this));
         turnThread.start();
+        return turnThread;
     }
 
     public void turn() {
-        this.food.removeFood(this.maze.getEatenFood());
-        final List<Snake> snakesForNextMove =
-            this
-            .snakes
-            .getAllSnakes()
-            .stream()
-            .map(snake -> this.respawn(snake))
-            .map(snake -> this.applyDeath(snake))
-            .collect(Collectors.toList());
+        this.engine.markChanged(this.food.removeFood(this.eatenFood));
+        final List<Snake> previousSnakes = this.snakes.getAllSnakes();
+        final List<Snake> snakesForNextMove = new ArrayList<Snake>(previousSnakes.size());
+        for (int i = 0; i < previousSnakes.size(); i++) {
+            snakesForNextMove.add(this.applyDeath(this.respawn(previousSnakes.get(i), i), i));
+        }
+        final Direction[] directions = this.scheduler.decide(snakesForNextMove, new Maze(this.maze));
         final Map<Snake, Pair<Position, Boolean>> nextPositionsOfSnakes =
-            snakesForNextMove
-            .stream()
-            .filter(Snake::isAlive)
-            .parallel()
-            .collect(Collectors.toMap(Function.identity(), snake -> this.nextPositionOfSnake(snake)));
+            new LinkedHashMap<Snake, Pair<Position, Boolean>>();
+        for (int i = 0; i < snakesForNextMove.size(); i++) {
+            final Snake snake = snakesForNextMove.get(i);
+            if (snake.isAlive()) {
+                nextPositionsOfSnakes.put(snake, this.nextPositionOfSnake(snake, directions[i], i));
+            }
+        }
         this.food.setMinAmount(this.settings.getFoodPerSnake() * nextPositionsOfSnakes.size());
-        final Map<Position, Long> occurrences =
-            nextPositionsOfSnakes
-            .entrySet()
+        final IntHashMap occurrences = new IntHashMap(nextPositionsOfSnakes.size());
+        for (final Pair<Position, Boolean> nextPos : nextPositionsOfSnakes.values()) {
+            occurrences.add(nextPos.getKey().pack(), 1);
+        }
+        final Collection<Position> eaten = new LinkedList<Position>();
+        final List<TurnEvent> events = new ArrayList<TurnEvent>();
+        for (int i = 0; i < previousSnakes.size(); i++) {
+            if (previousSnakes.get(i).isAlive() && !snakesForNextMove.get(i).isAlive()) {
+                events.add(new TurnEvent.SnakeDied(i));
+            }
+        }
+        final List<Snake> movedSnakes = new ArrayList<Snake>(snakesForNextMove.size());
+        int alive = 0;
+        for (int i = 0; i < snakesForNextMove.size(); i++) {
+            final Snake snake = snakesForNextMove.get(i);
+            if (!snake.isAlive()) {
+                movedSnakes.add(snake);
+                continue;
+            }
+            alive++;
+            final Pair<Position, Boolean> nextPosWithFlag = nextPositionsOfSnakes.get(snake);
+            final Position nextPos = nextPosWithFlag.getKey();
+            if (occurrences.get(nextPos.pack(), 0) == 1 && this.food.isFood(nextPos)) {
+                eaten.add(nextPos);
+                movedSnakes.add(snake.growingMove(nextPosWithFlag));
+                events.add(new TurnEvent.FoodEaten(i, nextPos));
+                events.add(new TurnEvent.SnakeMoved(i, nextPos, Optional.empty()));
+            } else {
+                movedSnakes.add(snake.normalMove(nextPosWithFlag));
+                events.add(new TurnEvent.SnakeMoved(i, nextPos, snake.getTailPosition()));
+            }
+        }
+        this.snakes.setSnakes(movedSnakes);
+        this.eatenFood = eaten;
+        for (int i = 0; i < movedSnakes.size(); i++) {
+            this.engine.markChanged(previousSnakes.get(i), movedSnakes.get(i));
+        }
+        final Maze movedMaze = this.getUpdatedMaze();
+        final int eating =
+            (int)eaten
             .stream()
-            .map(Map.Entry::getValue)
-            .map(Pair::getKey)
-            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-        this.snakes.setSnakes(
-            snakesForNextMove.stream().map(
-                snake -> {
-                    if (!snake.isAlive()) {
-                        return snake;
-                    }
-                    final Pair<Position, Boolean> nextPosWithFlag = nextPositionsOfSnakes.get(snake);
-                    final Position nextPos = nextPosWithFlag.getKey();
-                    if (occurrences.get(nextPos) == 1 && this.food.isFood(nextPos)) {
-                        return snake.growingMove(nextPosWithFlag);
-                    }
-                    return snake.normalMove(nextPosWithFlag);
-                }
-            ).collect(Collectors.toList()));
-        this.food.generateFood(new Maze(this.getCurrentMaze()));
-        this.maze.setMaze(this.getCurrentMaze());
+            .filter(pos -> movedMaze.typeAt(pos.getX(), pos.getY()) == FieldType.SNAKE_HEAD_EATING)
+            .count();
+        if (this.food.needsFood(eating)) {
+            final List<Position> spawned = this.food.generateFood(movedMaze);
+            this.engine.markChanged(spawned);
+            for (final Position pos : spawned) {
+                events.add(new TurnEvent.FoodSpawned(pos));
+            }
+        }
+        this.setMaze(this.getUpdatedMaze());
         this.competition.increaseTurns();
-        this.competition.setRunning(this.competition.isRunning() && !this.snakes.getAliveSnakes().isEmpty());
+        this.competition.setRunning(this.competition.isRunning() && alive > 0);
+        events.add(new TurnEvent.TurnCompleted(this.competition.getTurns(), alive));
+        this.events.publish(events);
     }
 
-    private Snake applyDeath(final Snake snake) {
+    private Snake applyDeath(final Snake snake, final int index) {
         if (!snake.isAlive()) {
             return snake;
         }
-        if (snake.isStarved() || snake.isTooSlow()) {
+        if (
+            snake.isStarved()
+            || snake.isTooSlow(this.settings.getMaxStrikes())
+            || this.scheduler.isDisqualified(index)
+        ) {
             return snake.kill();
         }
         final Position pos = snake.getHeadPosition();
-        switch (this.maze.getField(pos.getX(), pos.getY()).type()) {
+        switch (this.maze.typeAt(pos.getX(), pos.getY())) {
             case COLLISION_ON_WALL:
             case COLLISION_ON_FOOD:
             case COLLISION_ON_FREE:
@@ -221,22 +227,29 @@ public class CompetitionControl {
         }
     }
 
+    private void closeRemoteControls() {
+        for (final SnakeControl control : this.snakeControls.getSnakeControls()) {
+            if (control instanceof RemoteSnakeControl) {
+                ((RemoteSnakeControl)control).close();
+            }
+        }
+    }
+
     private void generateSnakePositions() {
         this.food.clear();
+        this.eatenFood = Collections.emptyList();
         this.snakes.setSnakes(
             this.snakeGenerator.generateSnakes(
                 this.snakeControls.getSnakeControls(),
-                new Maze(
-                    CompetitionControl.toMaze(this.getWidth(), this.getHeight(), new Snakes(), this.walls, this.food)
-                ),
+                MazeEngine.build(this.getWidth(), this.getHeight(), new Snakes(), this.walls, this.food),
                 this.settings
             )
         );
-        this.maze.setMaze(this.getCurrentMaze());
+        this.setMaze(this.getCurrentMaze());
     }
 
-    private Field[][] getCurrentMaze() {
-        return CompetitionControl.toMaze(this.getWidth(), this.getHeight(), this.snakes, this.walls, this.food);
+    private Maze getCurrentMaze() {
+        return this.engine.rebuild(this.getWidth(), this.getHeight(), this.snakes, this.walls, this.food);
     }
 
     private int getHeight() {
@@ -247,23 +260,62 @@ public class CompetitionControl {
         return this.settings.isArena() ? this.settings.getWidth() + 2 : this.settings.getWidth();
     }
 
-    private Pair<Position, Boolean> nextPositionOfSnake(final Snake snake) {
-        final Pair<Direction, Boolean> res = snake.getNextDirection(new Maze(this.maze), this.executor);
-        return new Pair<Position, Boolean>(this.wrapPosition(snake.getNextPosition(res.getKey())), res.getValue());
+    private Maze getUpdatedMaze() {
+        return this.engine.update(this.getWidth(), this.getHeight(), this.snakes, this.walls, this.food);
+    }
+
+    private Pair<Position, Boolean> nextPositionOfSnake(
+        final Snake snake,
+        final Direction direction,
+        final int index
+    ) {
+        if (direction == null) {
+            return new Pair<Position, Boolean>(
+                this.wrapPosition(snake.getNextPosition(this.timeoutDirection(index))),
+                true
+            );
+        }
+        return new Pair<Position, Boolean>(this.wrapPosition(snake.getNextPosition(direction)), false);
+    }
+
+    private void publishSnapshot() {
+        if (this.snapshots.isPresent()) {
+            this.snapshots.get().publish(new Snapshot(new Maze(this.maze), this.snakes.getAllSnakes()));
+        }
     }
 
     private void removeSnakePositions() {
         this.snakes.removePositions();
-        this.maze.setMaze(this.getCurrentMaze());
+        this.setMaze(this.getCurrentMaze());
+    }
+
+    private void reseed() {
+        this.seed = this.settings.getSeed().orElseGet(() -> new SplittableRandom().nextLong());
+        final SplittableRandom random = new SplittableRandom(this.seed);
+        this.mazeGenerator = new MazeGenerator(random.split());
+        this.snakeGenerator = new SnakeGenerator(random.split());
+        this.timeoutSeed = random.nextLong();
+        this.food = new FoodPositions(new FoodGenerator(random.split()));
     }
 
-    private Snake respawn(final Snake snake) {
-        if (!this.settings.isRespawning() || snake.isAlive()) {
+    private Snake respawn(final Snake snake, final int index) {
+        if (!this.settings.isRespawning() || snake.isAlive() || this.scheduler.isDisqualified(index)) {
             return snake;
         }
         return snake.respawn(this.snakeGenerator.getRespawnPosition(this.maze), this.settings.getInitialSnakeLength());
     }
 
+    private void setMaze(final Maze maze) {
+        this.maze.setMaze(maze);
+        this.publishSnapshot();
+    }
+
+    private Direction timeoutDirection(final int index) {
+        // only depends on the seed, the turn, and the snake such that replaying a seed reproduces it
+        final long turnAndIndex = ((long)this.competition.getTurns() << 32) | index;
+        return Direction.values()[new SplittableRandom(this.timeoutSeed ^ turnAndIndex).nextInt(4)];
+    }
+
     private Position wrapPosition(final Position pos) {
         final int width = this.getWidth();
         final int height = this.getHeight();
@@ -0,0 +1,101 @@
+package control;
+
+import java.awt.*;
+import java.io.*;
+import java.util.*;
+import java.util.List;
+
+import model.*;
+
+/**
+ * Runs a single snake control in its own process. Reads the turns from the standard input and writes the decisions to
+ * the standard output according to the TurnProtocol. Output of the snake control is redirected to the standard error.
+ * @author cryingshadow
+ */
+public class ControlHost {
+
+    /**
+     * @param args The fully qualified name of the snake control class. It needs a public constructor without
+     *             arguments and must be on the class path.
+     * @throws IOException If the communication with the engine fails.
+     * @throws ReflectiveOperationException If the snake control cannot be instantiated.
+     */
+    public static void main(final String[] args) throws IOException, ReflectiveOperationException {
+        if (args.length != 1) {
+            System.err.println("Usage: ControlHost <snake control class>");
+            return;
+        }
+        final DataOutputStream out =
+            new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(System.err);
+        final SnakeControl control =
+            (SnakeControl)Class.forName(args[0]).getDeclaredConstructor().newInstance();
+        out.writeUTF(control.getName());
+        out.flush();
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+        final List<Color> colors = new ArrayList<Color>();
+        short[] cells = new short[0];
+        int width = 0;
+        int height = 0;
+        while (true) {
+            final byte kind;
+            try {
+                kind = in.readByte();
+            } catch (final EOFException e) {
+                return;
+            }
+            if (kind == TurnProtocol.QUIT) {
+                return;
+            }
+            final int sequence = in.readInt();
+            final int x = in.readInt();
+            final int y = in.readInt();
+            if (kind == TurnProtocol.FULL) {
+                width = in.readInt();
+                height = in.readInt();
+                colors.clear();
+                ControlHost.readColors(in, colors);
+                cells = new short[width * height];
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = in.readShort();
+                }
+            } else if (kind == TurnProtocol.DELTA) {
+                ControlHost.readColors(in, colors);
+                final int changes = in.readInt();
+                for (int i = 0; i < changes; i++) {
+                    final int index = in.readInt();
+                    cells[index] = in.readShort();
+                }
+            } else {
+                throw new IllegalStateException("Unknown frame kind: " + kind);
+            }
+            final Maze maze = new Maze(width, height, cells, colors.toArray(new Color[colors.size()]));
+            byte reply = TurnProtocol.NO_DIRECTION;
+            try {
+                final Direction direction = control.nextDirection(maze, x, y);
+                if (direction != null) {
+                    reply = (byte)direction.ordinal();
+                }
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+            out.writeInt(sequence);
+            out.writeByte(reply);
+            out.flush();
+        }
+    }
+
+    /**
+     * Reads a number of colors followed by these colors and appends them to the specified list.
+     * @param in The input.
+     * @param colors The colors read so far.
+     * @throws IOException If reading fails.
+     */
+    private static void readColors(final DataInputStream in, final List<Color> colors) throws IOException {
+        final int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            colors.add(new Color(in.readInt(), true));
+        }
+    }
+
+}
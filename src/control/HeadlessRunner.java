@@ -0,0 +1,241 @@
+package control;
+
+import java.io.*;
+import java.util.*;
+
+import control.samples.*;
+import model.*;
+import util.*;
+
+/**
+ * Runs a competition without any GUI and without waiting between turns. Prints the final results and the number of
+ * turns per second to the standard output.
+ * @author cryingshadow
+ */
+public class HeadlessRunner {
+
+    /**
+     * The default maximum number of turns.
+     */
+    static final int DEFAULT_TURNS = 10000;
+
+    /**
+     * Usage description of the settings.
+     */
+    static final String SETTINGS_USAGE =
+        "[width=<int>] [height=<int>] [walls=<int>] [arena=<boolean>] [food=<int>] [length=<int>] "
+        + "[hunger=<int>|none] [respawning=<boolean>] [execution=platform|virtual|processes] "
+        + "[budget=<ms>] [clock=cpu|wall] [ceiling=<ms>] [strikes=<int>|none]";
+
+    /**
+     * Usage description.
+     */
+    private static final String USAGE =
+        "Usage: HeadlessRunner <controls directory|samples> [seed=<long>] [turns=<int>] [stats=<csv file>] "
+        + HeadlessRunner.SETTINGS_USAGE;
+
+    /**
+     * @param args The directory containing the snake controls or "samples" for the sample snake controls followed by
+     *             optional settings of the form key=value (see USAGE).
+     * @throws IOException If the decision statistics cannot be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println(HeadlessRunner.USAGE);
+            return;
+        }
+        System.setProperty("java.awt.headless", "true");
+        final Settings settings = new Settings();
+        long seed = System.nanoTime();
+        int turns = HeadlessRunner.DEFAULT_TURNS;
+        Optional<String> statsFile = Optional.empty();
+        for (final Map.Entry<String, String> option : HeadlessRunner.parseOptions(args).entrySet()) {
+            switch (option.getKey()) {
+                case "seed":
+                    seed = Long.parseLong(option.getValue());
+                    break;
+                case "turns":
+                    turns = Integer.parseInt(option.getValue());
+                    break;
+                case "stats":
+                    statsFile = Optional.of(option.getValue());
+                    break;
+                default:
+                    HeadlessRunner.applySetting(settings, option.getKey(), option.getValue(), HeadlessRunner.USAGE);
+            }
+        }
+        final List<SnakeControl> controls;
+        if (args[0].equals("samples")) {
+            controls = SampleControls.create(new Random(seed));
+        } else {
+            controls = DynamicCompiler.compileAndLoad(new File(args[0]));
+        }
+        final MatchResult result = new Match(settings, controls, seed, turns).call();
+        HeadlessRunner.printResults(result);
+        if (statsFile.isPresent()) {
+            final List<Pair<String, DecisionStats>> stats = new ArrayList<Pair<String, DecisionStats>>();
+            for (int i = 0; i < result.snakes().size(); i++) {
+                stats.add(new Pair<String, DecisionStats>(result.snakes().get(i).name(), result.decisions().get(i)));
+            }
+            HeadlessRunner.writeDecisionStats(statsFile.get(), stats);
+        }
+    }
+
+    /**
+     * @param settings The settings.
+     * @param key The name of the setting.
+     * @param value The value of the setting.
+     * @param usage The usage description to show for unknown settings.
+     */
+    static void applySetting(final Settings settings, final String key, final String value, final String usage) {
+        switch (key) {
+            case "width":
+                settings.setWidth(Integer.parseInt(value));
+                break;
+            case "height":
+                settings.setHeight(Integer.parseInt(value));
+                break;
+            case "walls":
+                settings.setWalls(Integer.parseInt(value));
+                break;
+            case "arena":
+                settings.setArena(Boolean.parseBoolean(value));
+                break;
+            case "food":
+                settings.setFoodPerSnake(Integer.parseInt(value));
+                break;
+            case "length":
+                settings.setInitialSnakeLength(Integer.parseInt(value));
+                break;
+            case "hunger":
+                settings.setMaxHunger(
+                    value.equals("none") ? Optional.empty() : Optional.of(Integer.parseInt(value))
+                );
+                break;
+            case "respawning":
+                settings.setRespawning(Boolean.parseBoolean(value));
+                break;
+            case "execution":
+                switch (value) {
+                    case "platform":
+                        settings.setExecutionMode(ExecutionMode.PLATFORM_THREADS);
+                        break;
+                    case "virtual":
+                        settings.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+                        break;
+                    case "processes":
+                        settings.setExecutionMode(ExecutionMode.PROCESSES);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown execution mode: " + value + "\n" + usage);
+                }
+                break;
+            case "budget":
+                settings.setDecisionBudget(Integer.parseInt(value));
+                break;
+            case "clock":
+                switch (value) {
+                    case "cpu":
+                        settings.setBudgetClock(BudgetClock.CPU_TIME);
+                        break;
+                    case "wall":
+                        settings.setBudgetClock(BudgetClock.WALL_TIME);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown budget clock: " + value + "\n" + usage);
+                }
+                break;
+            case "ceiling":
+                settings.setDecisionCeiling(Integer.parseInt(value));
+                break;
+            case "strikes":
+                settings.setMaxStrikes(
+                    value.equals("none") ? Optional.empty() : Optional.of(Integer.parseInt(value))
+                );
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown setting: " + key + "\n" + usage);
+        }
+    }
+
+    /**
+     * @param args Command line arguments whose first one is skipped and all others are of the form key=value.
+     * @return The options in the order of their specification.
+     */
+    static Map<String, String> parseOptions(final String[] args) {
+        final Map<String, String> res = new LinkedHashMap<String, String>();
+        for (int i = 1; i < args.length; i++) {
+            final String[] option = args[i].split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Options must be of the form key=value: " + args[i]);
+            }
+            res.put(option[0], option[1]);
+        }
+        return res;
+    }
+
+    /**
+     * @param turns A number of turns.
+     * @param nanos The time needed for the turns in nanoseconds.
+     * @return A description of the number of turns per second.
+     */
+    static String turnsPerSecond(final long turns, final long nanos) {
+        final double seconds = nanos / 1e9;
+        return String.format(
+            Locale.ROOT,
+            "%d turns in %.3f s (%.1f turns/s)",
+            turns,
+            seconds,
+            seconds > 0 ? turns / seconds : 0.0
+        );
+    }
+
+    /**
+     * @param file The name of the CSV file to write.
+     * @param stats The decision statistics along with the names of the corresponding snake controls.
+     * @throws IOException If the file cannot be written.
+     */
+    static void writeDecisionStats(
+        final String file,
+        final List<Pair<String, DecisionStats>> stats
+    ) throws IOException {
+        try (Writer out = new BufferedWriter(new FileWriter(file))) {
+            DecisionStats.writeCsv(out, stats);
+        }
+    }
+
+    /**
+     * @param result The result of the match.
+     */
+    private static void printResults(final MatchResult result) {
+        final List<Integer> ranking = new ArrayList<Integer>();
+        for (int i = 0; i < result.snakes().size(); i++) {
+            ranking.add(i);
+        }
+        ranking.sort(
+            Comparator
+            .comparingInt((final Integer index) -> result.snakes().get(index).maxLength())
+            .thenComparingInt(index -> result.snakes().get(index).finalLength())
+            .reversed()
+        );
+        System.out.println("Seed: " + result.seed());
+        int rank = 1;
+        for (final int index : ranking) {
+            final MatchResult.SnakeResult snake = result.snakes().get(index);
+            System.out.println(
+                String.format(
+                    "%d. %s - max length %d, length %d, survived %d turns, %s",
+                    rank++,
+                    snake.name(),
+                    snake.maxLength(),
+                    snake.finalLength(),
+                    snake.survivalTurns(),
+                    snake.alive() ? "alive" : "dead"
+                )
+            );
+            System.out.println("   decisions: " + result.decisions().get(index).describe());
+        }
+        System.out.println(HeadlessRunner.turnsPerSecond(result.turns(), result.nanos()));
+    }
+
+}
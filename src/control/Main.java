@@ -13,19 +13,6 @@ import view.*;
  */
 public class Main {
 
-    /**
-     * Snake controls to be used when the argument "samples" is being specified for the main method.
-     */
-    private static final List<SnakeControl> PRE_DEFINED_SNAKE_CONTROLS =
-        Arrays.asList(
-            new ImprovedShortestPathSnakeControl(),
-            new ShortestPathSnakeControl(),
-            new GreedySnakeControl(),
-            new RandomSnakeControl(),
-            new RotatingSnakeControl(),
-            new UpLeftSnakeControl()
-        );
-
     /**
      * @param args Can specify the folder from where to pre-load the snake controls or to use the snake controls stored
      *             in this class by specifying "samples" as the first argument. If empty, the folder for snake controls
@@ -38,10 +25,12 @@ public class Main {
         final SnakeControls snakeControls = new SnakeControls();
         final Competition competition = new Competition();
         final CompetitionControl control = new CompetitionControl(settings, maze, snakes, snakeControls, competition);
-        final MainFrame frame = new MainFrame(maze, snakes, snakeControls, competition, settings, control);
+        final SnapshotExchange snapshots = new SnapshotExchange();
+        control.publishSnapshotsTo(snapshots);
+        final MainFrame frame = new MainFrame(maze, snakes, snakeControls, competition, settings, control, snapshots);
         if (args.length > 0) {
             if (args[0].equals("samples")) {
-                control.initSnakes(Main.PRE_DEFINED_SNAKE_CONTROLS);
+                control.initSnakes(SampleControls.create(new Random()));
             } else {
                 Main.preload(args[0], settings, control);
             }
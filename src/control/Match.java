@@ -0,0 +1,99 @@
+package control;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import model.*;
+
+/**
+ * A single match played without GUI and without waiting between turns. Each match has its own competition state
+ * (maze, walls, food, snakes) such that several matches can be played concurrently.
+ * @author cryingshadow
+ */
+public class Match implements Callable<MatchResult> {
+
+    /**
+     * The snake controls participating in this match.
+     */
+    private final List<SnakeControl> controls;
+
+    /**
+     * The seed for all random decisions of the competition.
+     */
+    private final long seed;
+
+    /**
+     * The settings for this match.
+     */
+    private final Settings settings;
+
+    /**
+     * The maximum number of turns.
+     */
+    private final int turnLimit;
+
+    /**
+     * @param settings The settings for this match. They are copied such that later changes do not affect the match.
+     * @param controls The snake controls participating in this match. They must not be used in other matches.
+     * @param seed The seed for all random decisions of the competition.
+     * @param turnLimit The maximum number of turns.
+     */
+    public Match(final Settings settings, final List<SnakeControl> controls, final long seed, final int turnLimit) {
+        this.settings = new Settings(settings);
+        this.settings.setSeed(Optional.of(seed));
+        this.controls = controls;
+        this.seed = seed;
+        this.turnLimit = turnLimit;
+    }
+
+    @Override
+    public MatchResult call() {
+        final Snakes snakes = new Snakes();
+        final Competition competition = new Competition();
+        final CompetitionControl control =
+            new CompetitionControl(
+                this.settings,
+                new Maze(this.settings),
+                snakes,
+                new SnakeControls(),
+                competition
+            );
+        try {
+            control.generateWalls();
+            control.initSnakes(this.controls);
+            control.prepareCompetition();
+            final int[] survivalTurns = new int[this.controls.size()];
+            final long start = System.nanoTime();
+            while (competition.isRunning() && competition.getTurns() < this.turnLimit) {
+                control.turn();
+                final List<Snake> current = snakes.getAllSnakes();
+                for (int i = 0; i < current.size(); i++) {
+                    if (current.get(i).isAlive()) {
+                        survivalTurns[i]++;
+                    }
+                }
+            }
+            final long nanos = System.nanoTime() - start;
+            final List<MatchResult.SnakeResult> results = new ArrayList<MatchResult.SnakeResult>();
+            final List<DecisionStats> decisions = new ArrayList<DecisionStats>();
+            final List<Snake> finalSnakes = snakes.getAllSnakes();
+            for (int i = 0; i < finalSnakes.size(); i++) {
+                final Snake snake = finalSnakes.get(i);
+                results.add(
+                    new MatchResult.SnakeResult(
+                        snake.getName(),
+                        snake.getMaxLength(),
+                        snake.getCurrentLength(),
+                        snake.isAlive(),
+                        survivalTurns[i]
+                    )
+                );
+                decisions.add(new DecisionStats(snake.getDecisionStats()));
+            }
+            return new MatchResult(this.seed, competition.getTurns(), nanos, results, decisions);
+        } finally {
+            control.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package control;
+
+import java.util.*;
+
+import model.*;
+
+/**
+ * The result of a single match.
+ * @param seed The seed the match has been played with.
+ * @param turns The number of turns played.
+ * @param nanos The time needed for playing the turns in nanoseconds.
+ * @param snakes The results of the participating snakes in the order of their controls.
+ * @param decisions Snapshots of the decision statistics of the participating snakes in the order of their controls.
+ *                  They are kept apart from the snake results since they depend on timing and not only on the seed.
+ * @author cryingshadow
+ */
+public record MatchResult(
+    long seed,
+    int turns,
+    long nanos,
+    List<SnakeResult> snakes,
+    List<DecisionStats> decisions
+) {
+
+    /**
+     * The result of a single snake in a match.
+     * @param name The name of the snake control.
+     * @param maxLength The maximum length the snake reached.
+     * @param finalLength The length of the snake at the end of the match.
+     * @param alive Is the snake alive at the end of the match?
+     * @param survivalTurns The number of turns the snake has been alive.
+     */
+    public record SnakeResult(String name, int maxLength, int finalLength, boolean alive, int survivalTurns) {}
+
+    /**
+     * @return The index of the winning snake or an empty optional if the match ended in a draw. The winner is the
+     *         snake reaching the greatest maximum length with ties being broken by the final length and then by the
+     *         survival turns.
+     */
+    public OptionalInt winner() {
+        final Comparator<SnakeResult> order =
+            Comparator
+            .comparingInt(SnakeResult::maxLength)
+            .thenComparingInt(SnakeResult::finalLength)
+            .thenComparingInt(SnakeResult::survivalTurns);
+        int best = -1;
+        boolean draw = false;
+        for (int i = 0; i < this.snakes.size(); i++) {
+            if (best < 0) {
+                best = i;
+                continue;
+            }
+            final int comparison = order.compare(this.snakes.get(i), this.snakes.get(best));
+            if (comparison > 0) {
+                best = i;
+                draw = false;
+            } else if (comparison == 0) {
+                draw = true;
+            }
+        }
+        return best < 0 || draw ? OptionalInt.empty() : OptionalInt.of(best);
+    }
+
+}
@@ -0,0 +1,309 @@
+package control;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+import model.*;
+import util.*;
+
+/**
+ * Engine maintaining the fields of the maze across turns. Instead of rebuilding all fields in each turn, only the
+ * fields at positions which have been marked as changed are recomputed in working rows of cell codes (see Maze). The
+ * rows are copied on write: a row shared with a published maze is copied once before its first change after the
+ * publication, so publishing a maze only costs the rows that actually changed and mazes returned earlier are never
+ * altered. The recomputed positions are appended to a change log shared by the published mazes (see
+ * Maze.getChangesSince). A rebuild starts a fresh log, and so does an update once the log has grown too large.
+ * @author cryingshadow
+ */
+public class MazeEngine {
+
+    /**
+     * The number of entries after which a fresh change log is started.
+     */
+    private static final int MAX_LOG_SIZE = 1 << 20;
+
+    /**
+     * @param width The width of the maze.
+     * @param height The height of the maze.
+     * @param snakes The snakes.
+     * @param walls The walls.
+     * @param food The food.
+     * @return The maze computed from scratch.
+     */
+    public static Maze build(
+        final int width,
+        final int height,
+        final Snakes snakes,
+        final Walls walls,
+        final FoodPositions food
+    ) {
+        return new Maze(
+            width,
+            height,
+            MazeEngine.computeRows(width, height, snakes, walls, food),
+            MazeEngine.snakeColors(snakes)
+        );
+    }
+
+    /**
+     * @param curPos A packed position.
+     * @param snakes The snakes.
+     * @param walls The walls.
+     * @param food The food.
+     * @return The cell code of the field at the specified position.
+     */
+    private static short computeCell(
+        final int curPos,
+        final Snakes snakes,
+        final Walls walls,
+        final FoodPositions food
+    ) {
+        if (snakes.isSnake(curPos)) {
+            final int index = snakes.getUniqueSnakeIndexAt(curPos);
+            if (index >= 0) {
+                final Snake actualSnake = snakes.getAllSnakes().get(index);
+                if (snakes.isSelfCollisionAt(curPos)) {
+                    return Maze.encode(FieldType.COLLISION_ON_FREE, Maze.NO_SNAKE);
+                }
+                if (walls.isWall(curPos)) {
+                    return Maze.encode(FieldType.COLLISION_ON_WALL, Maze.NO_SNAKE);
+                }
+                if (actualSnake.getHeadPosition().pack() == curPos) {
+                    if (food.isFood(curPos)) {
+                        return Maze.encode(FieldType.SNAKE_HEAD_EATING, index);
+                    }
+                    return Maze.encode(FieldType.SNAKE_HEAD, index);
+                }
+                return Maze.encode(FieldType.SNAKE_BODY, index);
+            }
+            if (food.isFood(curPos)) {
+                return Maze.encode(FieldType.COLLISION_ON_FOOD, Maze.NO_SNAKE);
+            }
+            return Maze.encode(FieldType.COLLISION_ON_FREE, Maze.NO_SNAKE);
+        }
+        if (walls.isWall(curPos)) {
+            return Maze.encode(FieldType.WALL, Maze.NO_SNAKE);
+        }
+        if (food.isFood(curPos)) {
+            return Maze.encode(FieldType.FOOD, Maze.NO_SNAKE);
+        }
+        return Maze.encode(FieldType.FREE, Maze.NO_SNAKE);
+    }
+
+    /**
+     * @param width The width of the maze.
+     * @param height The height of the maze.
+     * @param snakes The snakes.
+     * @param walls The walls.
+     * @param food The food.
+     * @return Fresh rows containing the cell codes of all fields.
+     */
+    private static short[][] computeRows(
+        final int width,
+        final int height,
+        final Snakes snakes,
+        final Walls walls,
+        final FoodPositions food
+    ) {
+        final short[][] rows = new short[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                rows[y][x] = MazeEngine.computeCell(Position.pack(x, y), snakes, walls, food);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * @param snakes The snakes.
+     * @return The colors of the snakes indexed by their index.
+     */
+    private static Color[] snakeColors(final Snakes snakes) {
+        final List<Snake> all = snakes.getAllSnakes();
+        final Color[] res = new Color[all.size()];
+        for (int i = 0; i < res.length; i++) {
+            res[i] = all.get(i).getColor();
+        }
+        return res;
+    }
+
+    /**
+     * The packed positions whose fields need to be recomputed.
+     */
+    private final IntHashSet changed;
+
+    /**
+     * Has the respective working row been copied since the last publication (such that it is not shared with a
+     * published maze and can be modified in place)?
+     */
+    private boolean[] copied;
+
+    /**
+     * The height of the maze.
+     */
+    private int height;
+
+    /**
+     * The log of the positions recomputed for the mazes published since the last rebuild.
+     */
+    private ChangeLog log;
+
+    /**
+     * The maze published last.
+     */
+    private Maze published;
+
+    /**
+     * The cell codes of the current fields indexed by row and column. Rows not copied since the last publication are
+     * shared with the published maze.
+     */
+    private short[][] rows;
+
+    /**
+     * The width of the maze.
+     */
+    private int width;
+
+    /**
+     * Creates an engine for an empty maze.
+     */
+    public MazeEngine() {
+        this.changed = new IntHashSet();
+        this.rows = new short[0][];
+        this.copied = new boolean[0];
+        this.width = 0;
+        this.height = 0;
+        this.log = new ChangeLog();
+        this.published = new Maze(0, 0, this.rows.clone(), new Color[0]);
+    }
+
+    /**
+     * @param positions Positions whose fields need to be recomputed.
+     */
+    public void markChanged(final Collection<Position> positions) {
+        for (final Position pos : positions) {
+            this.markChanged(pos);
+        }
+    }
+
+    /**
+     * @param pos A packed position whose field needs to be recomputed.
+     */
+    public void markChanged(final int pos) {
+        this.changed.add(pos);
+    }
+
+    /**
+     * @param pos A position whose field needs to be recomputed.
+     */
+    public void markChanged(final Position pos) {
+        this.markChanged(pos.pack());
+    }
+
+    /**
+     * Marks the positions whose fields might differ when replacing the specified snake by its specified successor.
+     * @param before A snake.
+     * @param after The snake replacing the former one.
+     */
+    public void markChanged(final Snake before, final Snake after) {
+        if (before == after) {
+            return;
+        }
+        if (after.isMoveOf(before)) {
+            this.markChanged(before.getHeadPosition());
+            this.markChanged(after.getHeadPosition());
+            before.getTailPosition().ifPresent(this::markChanged);
+            return;
+        }
+        if (before.isAlive()) {
+            this.markSnake(before);
+        }
+        if (after.isAlive()) {
+            this.markSnake(after);
+        }
+    }
+
+    /**
+     * Recomputes all fields from scratch.
+     * @param width The width of the maze.
+     * @param height The height of the maze.
+     * @param snakes The snakes.
+     * @param walls The walls.
+     * @param food The food.
+     * @return The maze.
+     */
+    public Maze rebuild(
+        final int width,
+        final int height,
+        final Snakes snakes,
+        final Walls walls,
+        final FoodPositions food
+    ) {
+        this.width = width;
+        this.height = height;
+        this.rows = MazeEngine.computeRows(width, height, snakes, walls, food);
+        this.copied = new boolean[height];
+        this.changed.clear();
+        this.log = new ChangeLog();
+        return this.publish(snakes);
+    }
+
+    /**
+     * Recomputes the fields at all positions marked as changed since the last update. Falls back to a complete
+     * rebuild if the dimensions of the maze have changed. Mazes returned earlier are never altered.
+     * @param width The width of the maze.
+     * @param height The height of the maze.
+     * @param snakes The snakes.
+     * @param walls The walls.
+     * @param food The food.
+     * @return The maze.
+     */
+    public Maze update(
+        final int width,
+        final int height,
+        final Snakes snakes,
+        final Walls walls,
+        final FoodPositions food
+    ) {
+        if (this.width != width || this.height != height) {
+            return this.rebuild(width, height, snakes, walls, food);
+        }
+        if (this.changed.isEmpty()) {
+            return this.published;
+        }
+        if (this.log.size() > MazeEngine.MAX_LOG_SIZE) {
+            this.log = new ChangeLog();
+        }
+        for (final int pos : this.changed.toArray()) {
+            this.log.add(pos);
+            final int y = Position.unpackY(pos);
+            if (!this.copied[y]) {
+                this.rows[y] = this.rows[y].clone();
+                this.copied[y] = true;
+            }
+            this.rows[y][Position.unpackX(pos)] = MazeEngine.computeCell(pos, snakes, walls, food);
+        }
+        this.changed.clear();
+        return this.publish(snakes);
+    }
+
+    /**
+     * @param snake A snake whose positions need to be recomputed.
+     */
+    private void markSnake(final Snake snake) {
+        snake.forEachPlacedPosition(this::markChanged);
+    }
+
+    /**
+     * @param snakes The snakes.
+     * @return A maze sharing the current rows and the change log. Rows changed afterwards are copied before.
+     */
+    private Maze publish(final Snakes snakes) {
+        this.published =
+            new Maze(this.width, this.height, this.rows.clone(), MazeEngine.snakeColors(snakes), this.log);
+        Arrays.fill(this.copied, false);
+        return this.published;
+    }
+
+}
@@ -0,0 +1,310 @@
+package control;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import model.*;
+import util.*;
+
+/**
+ * Snake control delegating to a snake control running in a separate JVM process (see ControlHost). After the first
+ * turn, only the cells that changed since the previous turn are sent to the process (as found in the change log of the
+ * maze - see Maze.getChangesSince). The process is started when this control is created. If waiting for a decision is
+ * interrupted (e.g., because the turn reached its ceiling), the process is killed such that a runaway computation
+ * cannot consume resources of the engine, and a fresh process is started for the next decision.
+ * @author cryingshadow
+ */
+public class RemoteSnakeControl implements SnakeControl, AutoCloseable {
+
+    /**
+     * A reply of the process.
+     * @param sequence The sequence number of the turn.
+     * @param direction The ordinal of the direction or TurnProtocol.NO_DIRECTION.
+     */
+    private record Reply(int sequence, byte direction) {}
+
+    /**
+     * Sequence number of the reply queued when the process died.
+     */
+    private static final int DIED = Integer.MIN_VALUE;
+
+    /**
+     * The time in milliseconds a process may take to terminate after being asked to before it is killed.
+     */
+    private static final long QUIT_TIMEOUT = 200;
+
+    /**
+     * @param controls Snake controls whose classes have public constructors without arguments and are on the class
+     *                 path or in the working directory.
+     * @return Snake controls running fresh instances of the classes of the specified snake controls in separate
+     *         processes (which have started up when this method returns).
+     */
+    public static List<SnakeControl> wrap(final List<SnakeControl> controls) {
+        final List<SnakeControl> res = new ArrayList<SnakeControl>(controls.size());
+        for (final SnakeControl control : controls) {
+            res.add(new RemoteSnakeControl(control.getClass().getName()));
+        }
+        for (final SnakeControl control : res) {
+            // wait for all processes to start up such that the first turn does not suffer from their startup time
+            control.getName();
+        }
+        return res;
+    }
+
+    /**
+     * The fully qualified name of the snake control class.
+     */
+    private final String className;
+
+    /**
+     * The colors already sent to the process.
+     */
+    private int colorsSent;
+
+    /**
+     * The name of the snake control as reported by the first process.
+     */
+    private final CompletableFuture<String> name;
+
+    /**
+     * The output to the process.
+     */
+    private DataOutputStream out;
+
+    /**
+     * The process.
+     */
+    private Process process;
+
+    /**
+     * The replies of the current process.
+     */
+    private BlockingQueue<Reply> replies;
+
+    /**
+     * The sequence number of the last turn.
+     */
+    private int sequence;
+
+    /**
+     * The maze known by the process or null if the process does not know any maze.
+     */
+    private Maze sent;
+
+    /**
+     * Starts the process.
+     * @param className The fully qualified name of the snake control class. It needs a public constructor without
+     *                  arguments and must be on the class path or in the working directory.
+     */
+    public RemoteSnakeControl(final String className) {
+        this.className = className;
+        this.name = new CompletableFuture<String>();
+        this.sequence = 0;
+        this.start();
+    }
+
+    /**
+     * Asks the process to terminate and waits for it a short time (see QUIT_TIMEOUT). Kills the process if it does not
+     * terminate in time (e.g., because it is stuck in a decision and never reads the request).
+     */
+    @Override
+    public synchronized void close() {
+        if (this.process == null) {
+            return;
+        }
+        final Process process = this.process;
+        this.process = null;
+        try {
+            this.out.writeByte(TurnProtocol.QUIT);
+            this.out.close();
+        } catch (final IOException e) {
+            // the process does not read anymore - it is killed below
+        }
+        try {
+            if (!process.waitFor(RemoteSnakeControl.QUIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (final InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String getName() {
+        try {
+            return this.name.get();
+        } catch (final InterruptedException | ExecutionException e) {
+            return this.className.substring(this.className.lastIndexOf('.') + 1);
+        }
+    }
+
+    @Override
+    public synchronized Direction nextDirection(final Maze maze, final int xPos, final int yPos) {
+        if (this.process == null) {
+            this.start();
+        }
+        this.sequence++;
+        try {
+            this.send(maze, xPos, yPos);
+            while (true) {
+                final Reply reply = this.replies.take();
+                if (reply.sequence() == RemoteSnakeControl.DIED) {
+                    throw new IOException("Unexpected end of replies!");
+                }
+                if (reply.sequence() == this.sequence) {
+                    if (reply.direction() == TurnProtocol.NO_DIRECTION) {
+                        throw new IllegalStateException("The snake control failed in its process!");
+                    }
+                    return Direction.values()[reply.direction()];
+                }
+            }
+        } catch (final IOException e) {
+            this.kill();
+            throw new IllegalStateException("The process of the snake control died!", e);
+        } catch (final InterruptedException e) {
+            this.kill();
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Kills the process. A fresh process will be started for the next decision.
+     */
+    private void kill() {
+        if (this.process != null) {
+            this.process.destroyForcibly();
+            this.process = null;
+            try {
+                this.out.close();
+            } catch (final IOException e) {
+                // the process is dead anyway
+            }
+        }
+    }
+
+    /**
+     * Reads the name and the replies of the specified process until it terminates. Closes the output of the process
+     * afterwards.
+     * @param in The output of the process.
+     * @param queue The queue for the replies.
+     */
+    private void readReplies(final DataInputStream in, final BlockingQueue<Reply> queue) {
+        try (in) {
+            this.name.complete(in.readUTF());
+            while (true) {
+                final int sequence = in.readInt();
+                queue.put(new Reply(sequence, in.readByte()));
+            }
+        } catch (final IOException | InterruptedException e) {
+            this.name.completeExceptionally(e);
+            queue.offer(new Reply(RemoteSnakeControl.DIED, TurnProtocol.NO_DIRECTION));
+        }
+    }
+
+    /**
+     * Sends the specified turn to the process. Sends the full maze if the changes since the maze known by the process
+     * are unknown (in particular, if the process does not know any maze). Only sends the changed cells otherwise.
+     * @param maze The maze.
+     * @param xPos The horizontal position of the snake's head.
+     * @param yPos The vertical position of the snake's head.
+     * @throws IOException If sending fails.
+     */
+    private void send(final Maze maze, final int xPos, final int yPos) throws IOException {
+        final int mazeWidth = maze.getWidth();
+        final int mazeHeight = maze.getHeight();
+        final Optional<int[]> changes = this.sent == null ? Optional.empty() : maze.getChangesSince(this.sent);
+        if (changes.isEmpty()) {
+            final short[] row = new short[mazeWidth];
+            int colors = 0;
+            for (int y = 0; y < mazeHeight; y++) {
+                for (final short code : maze.getRow(y, row)) {
+                    colors = Math.max(colors, Maze.snakeIndexOf(code) + 1);
+                }
+            }
+            this.colorsSent = 0;
+            this.out.writeByte(TurnProtocol.FULL);
+            this.out.writeInt(this.sequence);
+            this.out.writeInt(xPos);
+            this.out.writeInt(yPos);
+            this.out.writeInt(mazeWidth);
+            this.out.writeInt(mazeHeight);
+            this.writeColors(maze, colors);
+            for (int y = 0; y < mazeHeight; y++) {
+                for (final short code : maze.getRow(y, row)) {
+                    this.out.writeShort(code);
+                }
+            }
+        } else {
+            final ByteArrayOutputStream changeBytes = new ByteArrayOutputStream();
+            final DataOutputStream changeOut = new DataOutputStream(changeBytes);
+            final IntHashSet written = new IntHashSet();
+            int changed = 0;
+            int colors = 0;
+            for (final int pos : changes.get()) {
+                final int x = Position.unpackX(pos);
+                final int y = Position.unpackY(pos);
+                final short code = maze.codeAt(x, y);
+                if (written.add(pos) && code != this.sent.codeAt(x, y)) {
+                    changeOut.writeInt(y * mazeWidth + x);
+                    changeOut.writeShort(code);
+                    colors = Math.max(colors, Maze.snakeIndexOf(code) + 1);
+                    changed++;
+                }
+            }
+            this.out.writeByte(TurnProtocol.DELTA);
+            this.out.writeInt(this.sequence);
+            this.out.writeInt(xPos);
+            this.out.writeInt(yPos);
+            this.writeColors(maze, colors);
+            this.out.writeInt(changed);
+            changeBytes.writeTo(this.out);
+        }
+        this.out.flush();
+        this.sent = maze;
+    }
+
+    /**
+     * Starts a fresh process.
+     */
+    private void start() {
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        // the working directory is where dynamically compiled snake controls are loaded from
+        final String classPath =
+            System.getProperty("java.class.path") + File.pathSeparator + new File(".").getAbsolutePath();
+        final ProcessBuilder builder =
+            new ProcessBuilder(java, "-cp", classPath, ControlHost.class.getName(), this.className);
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        try {
+            this.process = builder.start();
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot start process for " + this.className, e);
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(this.process.getOutputStream()));
+        this.replies = new LinkedBlockingQueue<Reply>();
+        this.sent = null;
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(this.process.getInputStream()));
+        final BlockingQueue<Reply> queue = this.replies;
+        final Thread reader = new Thread(() -> this.readReplies(in, queue), "remote-" + this.className);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Sends the snake colors of the specified maze the process does not know yet (preceded by their number).
+     * @param maze The maze.
+     * @param count The number of snake colors the process needs to know.
+     * @throws IOException If sending fails.
+     */
+    private void writeColors(final Maze maze, final int count) throws IOException {
+        final int total = Math.max(count, this.colorsSent);
+        this.out.writeInt(total - this.colorsSent);
+        for (int i = this.colorsSent; i < total; i++) {
+            this.out.writeInt(maze.getSnakeColor(i).getRGB());
+        }
+        this.colorsSent = total;
+    }
+
+}
@@ -0,0 +1,206 @@
+package control;
+
+import java.io.*;
+import java.util.*;
+
+import control.samples.*;
+import model.*;
+import util.*;
+
+/**
+ * Runs thousands of consecutive competitions on the same models like a long GUI session (but without GUI and at
+ * unlimited speed) and checks that neither the number of registered listeners nor the used heap grows. Terminates
+ * with an IllegalStateException if a leak is detected.
+ * @author cryingshadow
+ */
+public class SoakRunner {
+
+    /**
+     * The relative growth of the used heap tolerated (on top of HEAP_SLACK).
+     */
+    private static final double HEAP_GROWTH = 0.25;
+
+    /**
+     * The absolute growth of the used heap in bytes tolerated (on top of HEAP_GROWTH).
+     */
+    private static final long HEAP_SLACK = 16L << 20;
+
+    /**
+     * The number of competitions between two progress reports.
+     */
+    private static final int REPORT_INTERVAL = 500;
+
+    /**
+     * Usage description.
+     */
+    private static final String USAGE =
+        "Usage: SoakRunner <controls directory|samples> [competitions=<int>] [turns=<int>] [seed=<long>] "
+        + HeadlessRunner.SETTINGS_USAGE;
+
+    /**
+     * The number of competitions run before measuring the baseline such that caches and JIT compilation have settled.
+     */
+    private static final int WARMUP = 20;
+
+    /**
+     * @param args The directory containing the snake controls or "samples" for the sample snake controls followed by
+     *             optional settings of the form key=value (see USAGE).
+     * @throws InterruptedException If interrupted while waiting for a competition to finish.
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            System.out.println(SoakRunner.USAGE);
+            return;
+        }
+        System.setProperty("java.awt.headless", "true");
+        final Settings settings = new Settings();
+        long seed = System.nanoTime();
+        int competitions = 5000;
+        int turns = 100;
+        for (final Map.Entry<String, String> option : HeadlessRunner.parseOptions(args).entrySet()) {
+            switch (option.getKey()) {
+                case "competitions":
+                    competitions = Integer.parseInt(option.getValue());
+                    break;
+                case "turns":
+                    turns = Integer.parseInt(option.getValue());
+                    break;
+                case "seed":
+                    seed = Long.parseLong(option.getValue());
+                    break;
+                default:
+                    HeadlessRunner.applySetting(settings, option.getKey(), option.getValue(), SoakRunner.USAGE);
+            }
+        }
+        settings.setSeed(Optional.of(seed));
+        settings.setSpeed(Speed.UNLIMITED);
+        final Maze maze = new Maze(settings);
+        final Snakes snakes = new Snakes();
+        final SnakeControls snakeControls = new SnakeControls();
+        final Competition competition = new Competition();
+        final CompetitionControl control = new CompetitionControl(settings, maze, snakes, snakeControls, competition);
+        try {
+            if (args[0].equals("samples")) {
+                control.initSnakes(SampleControls.create(new Random(seed)));
+            } else {
+                control.initSnakes(DynamicCompiler.compileAndLoad(new File(args[0])));
+            }
+            final int turnLimit = turns;
+            control.getEvents().subscribe(
+                TurnEvent.TurnCompleted.class,
+                event -> {
+                    if (event.turn() >= turnLimit) {
+                        competition.setRunning(false);
+                    }
+                }
+            );
+            final int warmup = Math.min(SoakRunner.WARMUP, competitions);
+            for (int i = 0; i < warmup; i++) {
+                SoakRunner.runCompetition(control, settings, seed + i);
+            }
+            final Map<String, Integer> listeners =
+                SoakRunner.listenerCounts(settings, maze, snakes, snakeControls, competition, control);
+            final long baseline = SoakRunner.usedHeap();
+            System.out.println(
+                String.format("Baseline after %d competitions: %s, heap %d MB", warmup, listeners, baseline >> 20)
+            );
+            final long start = System.nanoTime();
+            for (int i = warmup + 1; i <= competitions; i++) {
+                SoakRunner.runCompetition(control, settings, seed + i);
+                final Map<String, Integer> current =
+                    SoakRunner.listenerCounts(settings, maze, snakes, snakeControls, competition, control);
+                if (!current.equals(listeners)) {
+                    throw new IllegalStateException(
+                        "Listeners leaked after " + i + " competitions: " + current + " instead of " + listeners
+                    );
+                }
+                if (i % SoakRunner.REPORT_INTERVAL == 0) {
+                    final double seconds = (System.nanoTime() - start) / 1e9;
+                    System.out.println(
+                        String.format(
+                            Locale.ROOT,
+                            "%d competitions, heap %d MB, %.1f competitions/s",
+                            i,
+                            SoakRunner.usedHeap() >> 20,
+                            (i - warmup) / seconds
+                        )
+                    );
+                }
+            }
+            final long used = SoakRunner.usedHeap();
+            final long limit = (long)(baseline * (1 + SoakRunner.HEAP_GROWTH)) + SoakRunner.HEAP_SLACK;
+            if (used > limit) {
+                throw new IllegalStateException(
+                    String.format("Heap grew from %d MB to %d MB!", baseline >> 20, used >> 20)
+                );
+            }
+            System.out.println(
+                String.format(
+                    "Soak test passed: %d competitions, listeners %s, heap %d MB (baseline %d MB)",
+                    competitions,
+                    listeners,
+                    used >> 20,
+                    baseline >> 20
+                )
+            );
+        } finally {
+            control.shutdown();
+        }
+    }
+
+    /**
+     * @param settings The settings.
+     * @param maze The maze.
+     * @param snakes The snakes.
+     * @param snakeControls The snake controls.
+     * @param competition The competition.
+     * @param control The competition control.
+     * @return The number of listeners registered at each model.
+     */
+    private static Map<String, Integer> listenerCounts(
+        final Settings settings,
+        final Maze maze,
+        final Snakes snakes,
+        final SnakeControls snakeControls,
+        final Competition competition,
+        final CompetitionControl control
+    ) {
+        final Map<String, Integer> res = new LinkedHashMap<String, Integer>();
+        res.put("settings", settings.getListenerCount());
+        res.put("maze", maze.getListenerCount());
+        res.put("snakes", snakes.getListenerCount());
+        res.put("controls", snakeControls.getListenerCount());
+        res.put("competition", competition.getListenerCount());
+        res.put("events", control.getEvents().getListenerCount());
+        return res;
+    }
+
+    /**
+     * Generates fresh walls and runs a competition like the GUI does until it is finished.
+     * @param control The competition control.
+     * @param settings The settings of the competition control.
+     * @param seed The seed of the competition (each competition starts from its seed).
+     * @throws InterruptedException If interrupted while waiting for the competition to finish.
+     */
+    private static void runCompetition(
+        final CompetitionControl control,
+        final Settings settings,
+        final long seed
+    ) throws InterruptedException {
+        settings.setSeed(Optional.of(seed));
+        control.generateWalls();
+        control.startCompetition().join();
+    }
+
+    /**
+     * @return The used heap in bytes after requesting garbage collections.
+     */
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
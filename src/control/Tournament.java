@@ -0,0 +1,164 @@
+package control;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+import model.*;
+
+/**
+ * A tournament playing many independent matches concurrently on a pool of threads. Each match gets fresh instances
+ * of the participating snake controls and its own competition state. Randomized snake controls of a match use a random
+ * number generator seeded with the seed of the match (like HeadlessRunner does) such that the tournament is
+ * reproducible from its seed.
+ * @author cryingshadow
+ */
+public class Tournament {
+
+    /**
+     * Factories of fresh snake control instances for each entrant taking the random number generator to be used by
+     * randomized controls.
+     */
+    private final List<Function<Random, SnakeControl>> entrants;
+
+    /**
+     * The names of the entrants' snake controls.
+     */
+    private final List<String> names;
+
+    /**
+     * The settings for all matches.
+     */
+    private final Settings settings;
+
+    /**
+     * The number of matches played concurrently.
+     */
+    private final int threads;
+
+    /**
+     * The maximum number of turns per match.
+     */
+    private final int turnLimit;
+
+    /**
+     * @param settings The settings for all matches.
+     * @param entrants Factories of fresh snake control instances for each entrant taking the random number generator to
+     *                 be used by randomized controls.
+     * @param threads The number of matches played concurrently.
+     * @param turnLimit The maximum number of turns per match.
+     */
+    public Tournament(
+        final Settings settings,
+        final List<Function<Random, SnakeControl>> entrants,
+        final int threads,
+        final int turnLimit
+    ) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed!");
+        }
+        this.settings = new Settings(settings);
+        this.entrants = entrants;
+        this.threads = threads;
+        this.turnLimit = turnLimit;
+        this.names = new ArrayList<String>();
+        for (final Function<Random, SnakeControl> entrant : entrants) {
+            this.names.add(entrant.apply(new Random()).getName());
+        }
+    }
+
+    /**
+     * Plays the specified number of matches with all entrants participating in each match.
+     * @param repeats The number of matches.
+     * @param seed The seed from which the seeds of all matches are derived.
+     * @return The aggregated results.
+     * @throws InterruptedException If interrupted while waiting for the matches to finish.
+     */
+    public TournamentResults allTogether(final int repeats, final long seed) throws InterruptedException {
+        final int[] lineup = new int[this.entrants.size()];
+        for (int i = 0; i < lineup.length; i++) {
+            lineup[i] = i;
+        }
+        return this.play(Collections.singletonList(lineup), repeats, seed);
+    }
+
+    /**
+     * Plays the specified number of matches for each pair of entrants.
+     * @param repeats The number of matches per pair.
+     * @param seed The seed from which the seeds of all matches are derived.
+     * @return The aggregated results.
+     * @throws InterruptedException If interrupted while waiting for the matches to finish.
+     */
+    public TournamentResults roundRobin(final int repeats, final long seed) throws InterruptedException {
+        final List<int[]> lineups = new ArrayList<int[]>();
+        for (int i = 0; i < this.entrants.size(); i++) {
+            for (int j = i + 1; j < this.entrants.size(); j++) {
+                lineups.add(new int[] {i, j});
+            }
+        }
+        return this.play(lineups, repeats, seed);
+    }
+
+    /**
+     * @param lineup The indices of the participating entrants.
+     * @param seed The seed of the match.
+     * @return Fresh snake control instances for the specified entrants.
+     */
+    private List<SnakeControl> createControls(final int[] lineup, final long seed) {
+        final Random random = new Random(seed);
+        final List<SnakeControl> res = new ArrayList<SnakeControl>(lineup.length);
+        for (final int entrant : lineup) {
+            res.add(this.entrants.get(entrant).apply(random));
+        }
+        return res;
+    }
+
+    /**
+     * @param lineups The indices of the participating entrants for each kind of match.
+     * @param repeats The number of matches per lineup.
+     * @param seed The seed from which the seeds of all matches are derived.
+     * @return The aggregated results.
+     * @throws InterruptedException If interrupted while waiting for the matches to finish.
+     */
+    private TournamentResults play(
+        final List<int[]> lineups,
+        final int repeats,
+        final long seed
+    ) throws InterruptedException {
+        final TournamentResults results = new TournamentResults(this.names);
+        final SplittableRandom seeds = new SplittableRandom(seed);
+        final ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (final int[] lineup : lineups) {
+                for (int i = 0; i < repeats; i++) {
+                    final long matchSeed = seeds.nextLong();
+                    futures.add(
+                        pool.submit(
+                            () -> results.add(
+                                lineup,
+                                new Match(
+                                    this.settings,
+                                    this.createControls(lineup, matchSeed),
+                                    matchSeed,
+                                    this.turnLimit
+                                ).call()
+                            )
+                        )
+                    );
+                }
+            }
+            for (final Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (final ExecutionException e) {
+                    throw new IllegalStateException("A match failed!", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return results;
+    }
+
+}
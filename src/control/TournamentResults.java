@@ -0,0 +1,153 @@
+package control;
+
+import java.util.*;
+
+import model.*;
+import util.*;
+
+/**
+ * Thread-safe aggregation of the results of many matches per entrant of a tournament.
+ * @author cryingshadow
+ */
+public class TournamentResults {
+
+    /**
+     * The aggregated results of a single entrant.
+     * @param name The name of the entrant's snake control.
+     * @param matches The number of matches played.
+     * @param wins The number of matches won.
+     * @param totalMaxLength The sum of the maximum lengths reached in all matches.
+     * @param totalFinalLength The sum of the lengths at the end of all matches.
+     * @param totalSurvivalTurns The sum of the turns being alive in all matches.
+     */
+    public record Standing(
+        String name,
+        int matches,
+        int wins,
+        long totalMaxLength,
+        long totalFinalLength,
+        long totalSurvivalTurns
+    ) {
+
+        /**
+         * @return The average maximum length per match.
+         */
+        public double averageMaxLength() {
+            return this.matches == 0 ? 0.0 : (double)this.totalMaxLength / this.matches;
+        }
+
+        /**
+         * @return The average number of turns being alive per match.
+         */
+        public double averageSurvivalTurns() {
+            return this.matches == 0 ? 0.0 : (double)this.totalSurvivalTurns / this.matches;
+        }
+
+        /**
+         * @param result The result of the entrant in another match.
+         * @param won Has the entrant won that match?
+         * @return The standing including the specified result.
+         */
+        private Standing add(final MatchResult.SnakeResult result, final boolean won) {
+            return new Standing(
+                this.name,
+                this.matches + 1,
+                won ? this.wins + 1 : this.wins,
+                this.totalMaxLength + result.maxLength(),
+                this.totalFinalLength + result.finalLength(),
+                this.totalSurvivalTurns + result.survivalTurns()
+            );
+        }
+
+    }
+
+    /**
+     * The decision statistics indexed by entrant.
+     */
+    private final DecisionStats[] decisions;
+
+    /**
+     * The number of matches aggregated.
+     */
+    private int matches;
+
+    /**
+     * The standings indexed by entrant.
+     */
+    private final Standing[] standings;
+
+    /**
+     * The number of turns played in all matches.
+     */
+    private long turns;
+
+    /**
+     * @param names The names of the entrants' snake controls.
+     */
+    public TournamentResults(final List<String> names) {
+        this.standings = new Standing[names.size()];
+        this.decisions = new DecisionStats[names.size()];
+        for (int i = 0; i < this.standings.length; i++) {
+            this.standings[i] = new Standing(names.get(i), 0, 0, 0, 0, 0);
+            this.decisions[i] = new DecisionStats();
+        }
+        this.matches = 0;
+        this.turns = 0;
+    }
+
+    /**
+     * @param entrants The indices of the entrants participating in the match in the order of their snakes.
+     * @param result The result of the match.
+     */
+    public synchronized void add(final int[] entrants, final MatchResult result) {
+        final OptionalInt winner = result.winner();
+        for (int i = 0; i < entrants.length; i++) {
+            final boolean won = winner.isPresent() && winner.getAsInt() == i;
+            this.standings[entrants[i]] = this.standings[entrants[i]].add(result.snakes().get(i), won);
+            this.decisions[entrants[i]].add(result.decisions().get(i));
+        }
+        this.matches++;
+        this.turns += result.turns();
+    }
+
+    /**
+     * @return Snapshots of the decision statistics over all matches along with the names of the entrants in the order
+     *         of the entrants.
+     */
+    public synchronized List<Pair<String, DecisionStats>> getDecisionStats() {
+        final List<Pair<String, DecisionStats>> res = new ArrayList<Pair<String, DecisionStats>>();
+        for (int i = 0; i < this.standings.length; i++) {
+            res.add(new Pair<String, DecisionStats>(this.standings[i].name(), new DecisionStats(this.decisions[i])));
+        }
+        return res;
+    }
+
+    /**
+     * @return The number of matches aggregated.
+     */
+    public synchronized int getMatches() {
+        return this.matches;
+    }
+
+    /**
+     * @return The standings of all entrants ordered by wins and then by average maximum length.
+     */
+    public synchronized List<Standing> getStandings() {
+        final List<Standing> res = new ArrayList<Standing>(Arrays.asList(this.standings));
+        res.sort(
+            Comparator
+            .comparingInt(Standing::wins)
+            .thenComparingDouble(Standing::averageMaxLength)
+            .reversed()
+        );
+        return res;
+    }
+
+    /**
+     * @return The number of turns played in all matches.
+     */
+    public synchronized long getTurns() {
+        return this.turns;
+    }
+
+}
@@ -0,0 +1,127 @@
+package control;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+import control.samples.*;
+import model.*;
+import util.*;
+
+/**
+ * Runs a tournament of many matches without any GUI on all available cores and prints the standings.
+ * @author cryingshadow
+ */
+public class TournamentRunner {
+
+    /**
+     * Usage description.
+     */
+    private static final String USAGE =
+        "Usage: TournamentRunner <controls directory|samples> [mode=roundrobin|all] [repeats=<int>] "
+        + "[threads=<int>] [seed=<long>] [turns=<int>] [stats=<csv file>] "
+        + HeadlessRunner.SETTINGS_USAGE;
+
+    /**
+     * @param args The directory containing the snake controls or "samples" for the sample snake controls followed by
+     *             optional settings of the form key=value (see USAGE).
+     * @throws InterruptedException If interrupted while waiting for the matches to finish.
+     * @throws IOException If the decision statistics cannot be written.
+     */
+    public static void main(final String[] args) throws InterruptedException, IOException {
+        if (args.length == 0) {
+            System.out.println(TournamentRunner.USAGE);
+            return;
+        }
+        System.setProperty("java.awt.headless", "true");
+        final Settings settings = new Settings();
+        long seed = System.nanoTime();
+        int turns = HeadlessRunner.DEFAULT_TURNS;
+        int repeats = 10;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean roundRobin = true;
+        Optional<String> statsFile = Optional.empty();
+        for (final Map.Entry<String, String> option : HeadlessRunner.parseOptions(args).entrySet()) {
+            switch (option.getKey()) {
+                case "mode":
+                    roundRobin = option.getValue().equals("roundrobin");
+                    break;
+                case "repeats":
+                    repeats = Integer.parseInt(option.getValue());
+                    break;
+                case "threads":
+                    threads = Integer.parseInt(option.getValue());
+                    break;
+                case "seed":
+                    seed = Long.parseLong(option.getValue());
+                    break;
+                case "turns":
+                    turns = Integer.parseInt(option.getValue());
+                    break;
+                case "stats":
+                    statsFile = Optional.of(option.getValue());
+                    break;
+                default:
+                    HeadlessRunner.applySetting(settings, option.getKey(), option.getValue(), TournamentRunner.USAGE);
+            }
+        }
+        final List<Function<Random, SnakeControl>> entrants;
+        if (args[0].equals("samples")) {
+            entrants = SampleControls.factories();
+        } else {
+            entrants = TournamentRunner.toFactories(DynamicCompiler.compileAndLoad(new File(args[0])));
+        }
+        final Tournament tournament = new Tournament(settings, entrants, threads, turns);
+        final long start = System.nanoTime();
+        final TournamentResults results =
+            roundRobin ? tournament.roundRobin(repeats, seed) : tournament.allTogether(repeats, seed);
+        final long nanos = System.nanoTime() - start;
+        System.out.println("Seed: " + seed + ", matches: " + results.getMatches() + ", threads: " + threads);
+        int rank = 1;
+        for (final TournamentResults.Standing standing : results.getStandings()) {
+            System.out.println(
+                String.format(
+                    Locale.ROOT,
+                    "%d. %s - %d wins in %d matches, avg max length %.2f, avg survival %.1f turns",
+                    rank++,
+                    standing.name(),
+                    standing.wins(),
+                    standing.matches(),
+                    standing.averageMaxLength(),
+                    standing.averageSurvivalTurns()
+                )
+            );
+        }
+        System.out.println("Decisions:");
+        for (final Pair<String, DecisionStats> stats : results.getDecisionStats()) {
+            System.out.println(stats.getKey() + " - " + stats.getValue().describe());
+        }
+        System.out.println(HeadlessRunner.turnsPerSecond(results.getTurns(), nanos));
+        if (statsFile.isPresent()) {
+            HeadlessRunner.writeDecisionStats(statsFile.get(), results.getDecisionStats());
+        }
+    }
+
+    /**
+     * @param controls Loaded snake controls.
+     * @return Factories creating fresh instances of the classes of the specified snake controls (ignoring the random
+     *         number generator).
+     */
+    private static List<Function<Random, SnakeControl>> toFactories(final List<SnakeControl> controls) {
+        final List<Function<Random, SnakeControl>> res = new ArrayList<Function<Random, SnakeControl>>();
+        for (final SnakeControl control : controls) {
+            final Class<? extends SnakeControl> type = control.getClass();
+            res.add(
+                random -> {
+                    try {
+                        return type.getDeclaredConstructor().newInstance();
+                    } catch (final ReflectiveOperationException e) {
+                        throw new IllegalStateException("Cannot instantiate " + type.getName(), e);
+                    }
+                }
+            );
+        }
+        return res;
+    }
+
+}
@@ -1,11 +1,17 @@
 package control;
 
+import java.util.concurrent.*;
+
 import javax.swing.event.*;
 
 import model.*;
 
 /**
- * Control for invoking turns.
+ * Control for invoking turns at a fixed rate. Turns start at multiples of the period of the current speed regardless of
+ * how long each turn takes. A turn finishing late is followed immediately by the next one to catch up as long as the
+ * delay is less than a period. Larger delays are not caught up with - the missed ticks are dropped and counted in the
+ * competition instead. The listeners needed while running are registered when the turns start and removed when they
+ * stop such that finished turn controls are not kept alive by the models.
  * @author cryingshadow
  */
 public class TurnControl implements Runnable {
@@ -23,7 +29,7 @@ public class TurnControl implements Runnable {
     /**
      * Are we on manual speed?
      */
-    private boolean manual;
+    private volatile boolean manual;
 
     /**
      * The settings.
@@ -43,43 +49,90 @@ public class TurnControl implements Runnable {
         this.settings = settings;
         this.competition = competition;
         this.control = control;
-        this.manual = settings.getSpeed().equals(Speed.MANUAL);
-        this.settings.addChangeListener(
-            new ChangeListener() {
+        this.manual = false;
+    }
 
-                @Override
-                public void stateChanged(final ChangeEvent e) {
-                    if (TurnControl.this.manual && !settings.getSpeed().equals(Speed.MANUAL)) {
-                        synchronized (TurnControl.this) {
-                            TurnControl.this.manual = false;
-                            TurnControl.this.notifyAll();
-                        }
-                    }
+    @Override
+    public void run() {
+        final ChangeListener wakeUp = new ChangeListener() {
 
+            @Override
+            public void stateChanged(final ChangeEvent e) {
+                if (
+                    TurnControl.this.manual
+                    && (
+                        !TurnControl.this.settings.getSpeed().equals(Speed.MANUAL)
+                        || !TurnControl.this.competition.isRunning()
+                    )
+                ) {
+                    synchronized (TurnControl.this) {
+                        TurnControl.this.manual = false;
+                        TurnControl.this.notifyAll();
+                    }
                 }
-
             }
-        );
-    }
 
-    @Override
-    public void run() {
+        };
+        this.settings.addChangeListener(wakeUp);
+        this.competition.addChangeListener(wakeUp);
         try {
+            Speed previous = null;
+            long next = 0;
             while (this.competition.isRunning()) {
                 final Speed speed = this.settings.getSpeed();
                 if (speed.equals(Speed.MANUAL)) {
                     synchronized (this) {
                         this.manual = true;
-                        this.wait();
+                        // re-check after publishing the flag such that a change in between is not missed
+                        while (
+                            this.manual
+                            && this.settings.getSpeed().equals(Speed.MANUAL)
+                            && this.competition.isRunning()
+                        ) {
+                            this.wait();
+                        }
+                        this.manual = false;
                     }
+                    previous = null;
                     continue;
                 }
+                if (speed != previous) {
+                    // a new rate starts counting from now
+                    previous = speed;
+                    next = System.nanoTime();
+                }
                 this.control.turn();
-                Thread.sleep(speed.getSleepTime());
+                next = this.awaitTick(next + speed.getPeriod(), speed.getPeriod());
             }
         } catch (final InterruptedException e) {
             e.printStackTrace();
+        } finally {
+            this.settings.removeChangeListener(wakeUp);
+            this.competition.removeChangeListener(wakeUp);
+        }
+    }
+
+    /**
+     * Waits for the specified tick. Drops the ticks missed completely.
+     * @param tick The time of the tick to start the next turn at (as by System.nanoTime).
+     * @param period The period of the current speed in nanoseconds.
+     * @return The time of the tick to start the next turn at.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private long awaitTick(final long tick, final long period) throws InterruptedException {
+        if (period == 0) {
+            return System.nanoTime();
+        }
+        final long lag = System.nanoTime() - tick;
+        if (lag < 0) {
+            TimeUnit.NANOSECONDS.sleep(-lag);
+            return tick;
+        }
+        final long missed = lag / period;
+        if (missed > 0) {
+            this.competition.addDroppedTicks(missed);
         }
+        return tick + missed * period;
     }
 
 }
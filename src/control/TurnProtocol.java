@@ -0,0 +1,47 @@
+package control;
+
+/**
+ * Binary protocol between the engine (RemoteSnakeControl) and a snake control running in a separate process
+ * (ControlHost). All numbers are written in big-endian order as by DataOutputStream.
+ *
+ * Host to engine: first the name of the snake control (as modified UTF-8), then one reply per turn consisting of the
+ * sequence number of the turn (int) and the ordinal of the direction (byte) or NO_DIRECTION if the snake control
+ * failed.
+ *
+ * Engine to host: one frame per turn starting with its kind (byte):
+ * FULL: sequence number, x and y of the head, width, height (ints), number of snake colors (int), the colors (RGB
+ * ints), and all cell codes of the maze in row-major order (shorts).
+ * DELTA: sequence number, x and y of the head (ints), number of additional snake colors (int), the additional colors
+ * (RGB ints), number of changed cells (int), and for each changed cell its row-major index (int) and its code (short).
+ * QUIT: no further data - the host terminates (or is killed if it does not terminate shortly).
+ * @author cryingshadow
+ */
+final class TurnProtocol {
+
+    /**
+     * Frame kind of a maze delta.
+     */
+    static final byte DELTA = 'D';
+
+    /**
+     * Frame kind of a full maze.
+     */
+    static final byte FULL = 'F';
+
+    /**
+     * Reply if the snake control failed to compute a direction.
+     */
+    static final byte NO_DIRECTION = -1;
+
+    /**
+     * Frame kind asking the host to terminate.
+     */
+    static final byte QUIT = 'Q';
+
+    /**
+     * Utility class.
+     */
+    private TurnProtocol() {
+    }
+
+}
@@ -0,0 +1,438 @@
+package control;
+
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+
+import model.*;
+
+/**
+ * Computes the next directions of all snakes in a turn. Each snake control owns a long-lived worker thread (of the kind
+ * specified by the execution mode). For each turn, the maze is published to all workers at once and the results are
+ * collected at a single wall-clock ceiling for the whole turn. Each decision is also measured against the decision
+ * budget by the budget clock starting when the snake control actually starts computing. Decisions exceeding the budget
+ * or missing the ceiling count as taking too long. A worker still computing at the ceiling is a runaway: it is
+ * interrupted and its snake control is not asked again before the runaway decision finishes (snake controls are never
+ * called concurrently), so each turn it is still computing at the ceiling counts as another runaway. A snake control
+ * with MAX_RUNAWAYS runaways is disqualified. The CPU time a runaway decision burns until it finishes (or until
+ * shutdown) is reported in the decision statistics of its snake.
+ * @author cryingshadow
+ */
+public class TurnScheduler {
+
+    /**
+     * A runaway decision still being computed.
+     * @param snake The snake whose decision is being computed.
+     * @param worker The worker computing the decision.
+     * @param cpuStart The CPU time of the worker when it started the decision or a negative value if unknown.
+     */
+    private record Runaway(Snake snake, Thread worker, long cpuStart) {}
+
+    /**
+     * The number of runaways after which a snake control is disqualified. This also bounds the number of turns a
+     * worker can be stuck in a snake control which does not react to interrupts.
+     */
+    public static final int MAX_RUNAWAYS = 3;
+
+    /**
+     * @return The CPU time used by the current thread in nanoseconds or a negative value if it cannot be measured.
+     */
+    private static long currentThreadCpuTime() {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * @param thread A thread.
+     * @return The CPU time used by the specified thread in nanoseconds or a negative value if it cannot be measured.
+     */
+    private static long threadCpuTime(final Thread thread) {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads.isThreadCpuTimeSupported() ? threads.getThreadCpuTime(thread.threadId()) : -1;
+    }
+
+    /**
+     * The budget in nanoseconds for the decisions of the current turn.
+     */
+    private long budget;
+
+    /**
+     * The clock measuring the decisions of the current turn.
+     */
+    private BudgetClock budgetClock;
+
+    /**
+     * Is a worker computing a decision? Indexed by snake.
+     */
+    private final boolean[] busy;
+
+    /**
+     * Signaled when the last pending decision of the current turn is available.
+     */
+    private final Condition collected;
+
+    /**
+     * The CPU time of each worker when it started its current decision (negative if unknown). Indexed by snake.
+     */
+    private final long[] cpuStarts;
+
+    /**
+     * Is a snake control disqualified? Indexed by snake.
+     */
+    private final boolean[] disqualified;
+
+    /**
+     * Has the fallback from the CPU time clock to the wall time clock been reported?
+     */
+    private boolean fallbackReported;
+
+    /**
+     * The factory for worker threads.
+     */
+    private final ThreadFactory factory;
+
+    /**
+     * The number of the current turn. Results of workers for earlier turns are discarded.
+     */
+    private long generation;
+
+    /**
+     * The lock guarding all mutable state of this scheduler.
+     */
+    private final Lock lock;
+
+    /**
+     * The maze published for the current turn.
+     */
+    private Maze maze;
+
+    /**
+     * Did the decision of the current turn exceed the budget? Indexed by snake.
+     */
+    private final boolean[] overBudget;
+
+    /**
+     * The number of decisions of the current turn not yet available.
+     */
+    private int pending;
+
+    /**
+     * Signaled when a new turn is published.
+     */
+    private final Condition published;
+
+    /**
+     * The directions computed in the current turn indexed by snake. Null if not (yet) available.
+     */
+    private final Direction[] results;
+
+    /**
+     * The snakes whose decisions the workers are computing. Indexed by snake.
+     */
+    private final Snake[] running;
+
+    /**
+     * Is the decision a worker is computing a runaway? Indexed by snake.
+     */
+    private final boolean[] runaway;
+
+    /**
+     * The number of runaways of each snake control. Indexed by snake.
+     */
+    private final int[] runaways;
+
+    /**
+     * The settings for the execution mode and the decision budget. Budget changes take effect in the next turn.
+     */
+    private final Settings settings;
+
+    /**
+     * Has this scheduler been shut down?
+     */
+    private boolean shutdown;
+
+    /**
+     * The snakes whose workers should compute a decision but have not started yet indexed by snake.
+     */
+    private final Snake[] tasks;
+
+    /**
+     * The worker threads indexed by snake.
+     */
+    private final Thread[] workers;
+
+    /**
+     * Creates and starts the workers.
+     * @param snakeCount The number of snakes (i.e., snake controls).
+     * @param settings The settings for the execution mode and the decision budget.
+     */
+    public TurnScheduler(final int snakeCount, final Settings settings) {
+        this.settings = settings;
+        this.lock = new ReentrantLock();
+        this.published = this.lock.newCondition();
+        this.collected = this.lock.newCondition();
+        this.busy = new boolean[snakeCount];
+        this.cpuStarts = new long[snakeCount];
+        this.disqualified = new boolean[snakeCount];
+        this.overBudget = new boolean[snakeCount];
+        this.results = new Direction[snakeCount];
+        this.running = new Snake[snakeCount];
+        this.runaway = new boolean[snakeCount];
+        this.runaways = new int[snakeCount];
+        this.tasks = new Snake[snakeCount];
+        this.workers = new Thread[snakeCount];
+        this.generation = 0;
+        this.pending = 0;
+        this.shutdown = false;
+        this.fallbackReported = false;
+        this.factory = settings.getExecutionMode().threadFactory("snake-control-");
+        for (int i = 0; i < snakeCount; i++) {
+            this.startWorker(i);
+        }
+    }
+
+    /**
+     * Computes the next directions of all alive snakes. Timeouts, exceptions, and runaways are recorded in the
+     * decision statistics of the respective snakes. Snake controls still computing a runaway decision are not asked
+     * and count as taking too long. Disqualified snake controls are not asked either.
+     * @param snakes The snakes indexed like the workers.
+     * @param maze The maze to compute the next directions for. It must not be changed afterwards.
+     * @return The next directions indexed by snake. Null for dead snakes, snakes whose controls took too long or
+     *         failed, and snakes whose controls are disqualified.
+     */
+    public Direction[] decide(final List<Snake> snakes, final Maze maze) {
+        if (snakes.size() > this.workers.length) {
+            throw new IllegalArgumentException("There are more snakes than workers!");
+        }
+        final Direction[] res = new Direction[snakes.size()];
+        final boolean[] due = new boolean[snakes.size()];
+        final boolean[] tooSlow = new boolean[snakes.size()];
+        final boolean[] ranAway = new boolean[snakes.size()];
+        this.lock.lock();
+        try {
+            if (this.shutdown) {
+                throw new IllegalStateException("The scheduler has already been shut down!");
+            }
+            this.generation++;
+            this.maze = maze;
+            this.budget = TimeUnit.MILLISECONDS.toNanos(this.settings.getDecisionBudget());
+            this.budgetClock = this.settings.getBudgetClock();
+            this.pending = 0;
+            Arrays.fill(this.results, null);
+            Arrays.fill(this.overBudget, false);
+            for (int i = 0; i < snakes.size(); i++) {
+                if (snakes.get(i).isAlive() && !this.disqualified[i]) {
+                    due[i] = true;
+                    if (this.busy[i]) {
+                        // still computing a runaway decision - the snake control must not be called concurrently
+                        tooSlow[i] = true;
+                    } else {
+                        this.tasks[i] = snakes.get(i);
+                        this.busy[i] = true;
+                        this.pending++;
+                    }
+                }
+            }
+            this.published.signalAll();
+            long remaining = TimeUnit.MILLISECONDS.toNanos(this.settings.getDecisionCeiling());
+            while (this.pending > 0 && remaining > 0) {
+                remaining = this.collected.awaitNanos(remaining);
+            }
+        } catch (final InterruptedException e) {
+            // use the results available so far
+        } finally {
+            for (int i = 0; i < snakes.size(); i++) {
+                if (this.tasks[i] != null) {
+                    // the worker did not even start in time - it must not start late
+                    this.tasks[i] = null;
+                    this.busy[i] = false;
+                    tooSlow[i] = true;
+                } else if (due[i] && this.busy[i]) {
+                    this.runAway(i);
+                    tooSlow[i] = true;
+                    ranAway[i] = true;
+                } else if (this.overBudget[i]) {
+                    tooSlow[i] = true;
+                }
+                res[i] = this.results[i];
+            }
+            this.pending = 0;
+            this.lock.unlock();
+        }
+        for (int i = 0; i < snakes.size(); i++) {
+            if (tooSlow[i]) {
+                snakes.get(i).getDecisionStats().recordTimeout();
+            }
+            if (ranAway[i]) {
+                snakes.get(i).getDecisionStats().recordRunaway();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * @param index The index of a snake control.
+     * @return True if the specified snake control has been disqualified for too many runaways.
+     */
+    public boolean isDisqualified(final int index) {
+        this.lock.lock();
+        try {
+            return this.disqualified[index];
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Clears the runaways and disqualifications of all snake controls (e.g., for a new competition). Snake controls
+     * still computing a runaway decision are not asked again before it finishes.
+     */
+    public void reset() {
+        this.lock.lock();
+        try {
+            Arrays.fill(this.runaways, 0);
+            Arrays.fill(this.disqualified, false);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stops all workers. Workers busy with a decision are interrupted. The CPU time used so far by runaway decisions
+     * still being computed is reported.
+     */
+    public void shutdown() {
+        final List<Runaway> runaways = new ArrayList<Runaway>();
+        this.lock.lock();
+        try {
+            this.shutdown = true;
+            this.published.signalAll();
+            for (int i = 0; i < this.workers.length; i++) {
+                if (this.runaway[i]) {
+                    runaways.add(new Runaway(this.running[i], this.workers[i], this.cpuStarts[i]));
+                    // reported here - the worker must not report it again when it finishes
+                    this.runaway[i] = false;
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        for (final Thread worker : this.workers) {
+            worker.interrupt();
+        }
+        for (final Runaway runaway : runaways) {
+            final long cpuTime = TurnScheduler.threadCpuTime(runaway.worker());
+            if (cpuTime >= 0 && runaway.cpuStart() >= 0) {
+                runaway.snake().getDecisionStats().recordRunawayCpuTime(cpuTime - runaway.cpuStart());
+            }
+        }
+    }
+
+    /**
+     * Marks the decision of the specified worker as a runaway, interrupts the worker, and disqualifies its snake
+     * control after MAX_RUNAWAYS runaways. Must be called while holding the lock.
+     * @param index The index of the worker.
+     */
+    private void runAway(final int index) {
+        this.runaway[index] = true;
+        this.workers[index].interrupt();
+        this.runaways[index]++;
+        if (this.runaways[index] >= TurnScheduler.MAX_RUNAWAYS) {
+            this.disqualified[index] = true;
+        }
+    }
+
+    /**
+     * Starts a worker. Must be called during construction.
+     * @param index The index of the worker.
+     */
+    private void startWorker(final int index) {
+        this.workers[index] = this.factory.newThread(() -> this.work(index));
+        this.workers[index].start();
+    }
+
+    /**
+     * The loop of a worker: waits for a snake to decide for, computes its next direction, and publishes the result
+     * if the turn is still the same.
+     * @param index The index of the worker.
+     */
+    private void work(final int index) {
+        while (true) {
+            final Snake snake;
+            final Maze maze;
+            final long turn;
+            final long budget;
+            final BudgetClock clock;
+            final long cpuStart;
+            this.lock.lock();
+            try {
+                while (!this.shutdown && this.tasks[index] == null) {
+                    this.published.awaitUninterruptibly();
+                }
+                if (this.shutdown) {
+                    return;
+                }
+                snake = this.tasks[index];
+                this.tasks[index] = null;
+                maze = this.maze;
+                turn = this.generation;
+                budget = this.budget;
+                clock = this.budgetClock;
+                cpuStart = TurnScheduler.currentThreadCpuTime();
+                this.running[index] = snake;
+                this.cpuStarts[index] = cpuStart;
+            } finally {
+                this.lock.unlock();
+            }
+            Direction direction = null;
+            final long wallStart = System.nanoTime();
+            try {
+                direction = snake.computeNextDirection(new Maze(maze));
+            } catch (final Exception | StackOverflowError e) {
+                snake.getDecisionStats().recordException();
+            }
+            final long cpuEnd = TurnScheduler.currentThreadCpuTime();
+            final long used;
+            if (clock == BudgetClock.CPU_TIME && cpuStart >= 0) {
+                used = cpuEnd - cpuStart;
+            } else {
+                used = System.nanoTime() - wallStart;
+            }
+            this.lock.lock();
+            try {
+                // an interrupt for a runaway must not hit the next decision (it is only sent while busy)
+                Thread.interrupted();
+                if (clock == BudgetClock.CPU_TIME && cpuStart < 0 && !this.fallbackReported) {
+                    this.fallbackReported = true;
+                    System.err.println(
+                        "Warning: the CPU time of the snake control threads cannot be measured (e.g., for virtual "
+                        + "threads) - decisions are measured by wall time instead."
+                    );
+                }
+                if (this.runaway[index]) {
+                    this.runaway[index] = false;
+                    if (cpuStart >= 0) {
+                        snake.getDecisionStats().recordRunawayCpuTime(cpuEnd - cpuStart);
+                    }
+                }
+                this.busy[index] = false;
+                this.running[index] = null;
+                if (turn == this.generation && this.pending > 0) {
+                    if (direction != null && used > budget) {
+                        this.overBudget[index] = true;
+                    } else {
+                        this.results[index] = direction;
+                    }
+                    this.pending--;
+                    if (this.pending == 0) {
+                        this.collected.signal();
+                    }
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+}
@@ -5,6 +5,7 @@ import java.util.stream.*;
 
 import control.*;
 import model.*;
+import util.*;
 
 public class ImprovedShortestPathSnakeControl implements SnakeControl {
 
@@ -15,22 +16,38 @@ public class ImprovedShortestPathSnakeControl implements SnakeControl {
         final Position current,
         final boolean avoidNearHeads
     ) {
+        final int[] buffer = new int[4];
         return maze
             .getSurroundingPositions(current)
             .stream()
-            .filter(pos -> !maze.getField(pos).type().isObstacle)
             .filter(
-                pos ->
-                    !avoidNearHeads
-                    || !maze
-                    .getSurroundingPositions(pos)
-                    .stream()
-                    .anyMatch(
-                        nextPos ->
-                            !nextPos.equals(current)
-                            && ImprovedShortestPathSnakeControl.SNAKE_HEADS.contains(maze.getField(nextPos).type())
-                    )
-            ).collect(Collectors.toCollection(ArrayList::new));
+                pos -> ImprovedShortestPathSnakeControl.isFree(maze, current.pack(), pos.pack(), avoidNearHeads, buffer)
+            )
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static boolean isFree(
+        final Maze maze,
+        final int current,
+        final int pos,
+        final boolean avoidNearHeads,
+        final int[] buffer
+    ) {
+        if (maze.isObstacle(pos)) {
+            return false;
+        }
+        if (avoidNearHeads) {
+            maze.getSurroundingPositions(pos, buffer);
+            for (final int nextPos : buffer) {
+                if (
+                    nextPos != current
+                    && ImprovedShortestPathSnakeControl.SNAKE_HEADS.contains(maze.typeAt(nextPos))
+                ) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     @Override
@@ -40,47 +57,52 @@ public class ImprovedShortestPathSnakeControl implements SnakeControl {
 
     @Override
     public Direction nextDirection(final Maze maze, final int xPos, final int yPos) {
-        final Queue<Position> poss = new LinkedList<Position>();
-        final Map<Position, Position> predecessors = new LinkedHashMap<Position, Position>();
-        final Position initial = new Position(xPos, yPos);
-        Position current = initial;
-        predecessors.put(current, null);
-        FieldType currentFieldType = maze.getField(current).type();
+        final IntQueue poss = new IntQueue();
+        final IntHashMap predecessors = new IntHashMap();
+        final int[] surrounding = new int[4];
+        final int[] buffer = new int[4];
+        final int initial = Position.pack(xPos, yPos);
+        int current = initial;
+        predecessors.put(current, current);
+        FieldType currentFieldType = maze.typeAt(current);
         while (!currentFieldType.equals(FieldType.FOOD) && !currentFieldType.equals(FieldType.COLLISION_ON_FOOD)) {
-            final List<Position> surrounding =
-                ImprovedShortestPathSnakeControl.getSurroundingFreePositions(maze, current, true);
-            surrounding.removeAll(predecessors.keySet());
-            surrounding.removeAll(poss);
-            for (final Position pos : surrounding) {
-                poss.offer(pos);
-                predecessors.put(pos, current);
+            maze.getSurroundingPositions(current, surrounding);
+            for (final int pos : surrounding) {
+                if (
+                    !predecessors.containsKey(pos)
+                    && ImprovedShortestPathSnakeControl.isFree(maze, current, pos, true, buffer)
+                ) {
+                    poss.offer(pos);
+                    predecessors.put(pos, current);
+                }
             }
-            current = poss.poll();
-            if (this.noWayToFood(current)) {
+            if (this.noWayToFood(poss)) {
+                final Position initialPos = new Position(xPos, yPos);
                 final List<Position> free =
-                    ImprovedShortestPathSnakeControl.getSurroundingFreePositions(maze, initial, true);
+                    ImprovedShortestPathSnakeControl.getSurroundingFreePositions(maze, initialPos, true);
                 if (free.isEmpty()) {
                     final List<Position> unsaveFree =
-                        ImprovedShortestPathSnakeControl.getSurroundingFreePositions(maze, initial, false);
+                        ImprovedShortestPathSnakeControl.getSurroundingFreePositions(maze, initialPos, false);
                     if (unsaveFree.isEmpty()) {
                         return Direction.UP;
                     }
-                    return initial.computeDirection(unsaveFree.getFirst());
+                    return initialPos.computeDirection(unsaveFree.getFirst());
                 }
-                return initial.computeDirection(free.getFirst());
+                return initialPos.computeDirection(free.getFirst());
             }
-            currentFieldType = maze.getField(current).type();
+            current = poss.poll();
+            currentFieldType = maze.typeAt(current);
         }
-        Position previous = predecessors.get(current);
-        while (!previous.equals(initial)) {
+        int previous = predecessors.get(current, initial);
+        while (previous != initial) {
             current = previous;
-            previous = predecessors.get(current);
+            previous = predecessors.get(current, initial);
         }
-        return initial.computeDirection(current);
+        return new Position(xPos, yPos).computeDirection(Position.unpack(current));
     }
 
-    private boolean noWayToFood(final Position current) {
-        return current == null;
+    private boolean noWayToFood(final IntQueue poss) {
+        return poss.isEmpty();
     }
 
 }
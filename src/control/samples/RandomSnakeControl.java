@@ -16,7 +16,21 @@ public class RandomSnakeControl implements SnakeControl {
     /**
      * Random number generator.
      */
-    private final Random random = new Random();
+    private final Random random;
+
+    /**
+     * Creates a randomly moving snake using a fresh random number generator.
+     */
+    public RandomSnakeControl() {
+        this(new Random());
+    }
+
+    /**
+     * @param random The random number generator to use.
+     */
+    public RandomSnakeControl(final Random random) {
+        this.random = random;
+    }
 
     @Override
     public String getName() {
@@ -29,7 +43,7 @@ public class RandomSnakeControl implements SnakeControl {
             maze
             .getSurroundingPositions(xPos, yPos)
             .stream()
-            .filter(pos -> !maze.getField(pos).type().isObstacle)
+            .filter(pos -> !maze.isObstacle(pos.getX(), pos.getY()))
             .collect(Collectors.toList());
         if (surrounding.isEmpty()) {
             return Direction.UP;
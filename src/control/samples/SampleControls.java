@@ -0,0 +1,42 @@
+package control.samples;
+
+import java.util.*;
+import java.util.function.*;
+
+import control.*;
+
+/**
+ * Factory for the sample snake controls shipped with the competition. Add your own snake control to the list of
+ * factories in order to let it participate when starting a competition with the argument "samples".
+ * @author cryingshadow
+ */
+public class SampleControls {
+
+    /**
+     * @param random The random number generator used by randomized controls.
+     * @return Fresh instances of all sample snake controls.
+     */
+    public static List<SnakeControl> create(final Random random) {
+        final List<SnakeControl> res = new ArrayList<SnakeControl>();
+        for (final Function<Random, SnakeControl> factory : SampleControls.factories()) {
+            res.add(factory.apply(random));
+        }
+        return res;
+    }
+
+    /**
+     * @return Factories creating fresh instances of each sample snake control from the random number generator to be
+     *         used by randomized controls (in the same order as returned by create).
+     */
+    public static List<Function<Random, SnakeControl>> factories() {
+        return Arrays.asList(
+            random -> new ImprovedShortestPathSnakeControl(),
+            random -> new ShortestPathSnakeControl(),
+            random -> new GreedySnakeControl(),
+            RandomSnakeControl::new,
+            random -> new RotatingSnakeControl(),
+            random -> new UpLeftSnakeControl()
+        );
+    }
+
+}
@@ -5,25 +5,31 @@ import java.util.stream.*;
 
 import control.*;
 import model.*;
+import util.*;
 
 public class ShortestPathSnakeControl implements SnakeControl {
 
+    private static final List<FieldType> COLLISION_TYPES =
+        List.of(
+            FieldType.WALL,
+            FieldType.COLLISION_ON_WALL,
+            FieldType.SNAKE_BODY,
+            FieldType.SNAKE_HEAD,
+            FieldType.SNAKE_HEAD_EATING
+        );
+
     private static List<Position> getSurroundingFreePositions(final Maze maze, final Position current) {
-        final List<FieldType> collisionTypes =
-            List.of(
-                FieldType.WALL,
-                FieldType.COLLISION_ON_WALL,
-                FieldType.SNAKE_BODY,
-                FieldType.SNAKE_HEAD,
-                FieldType.SNAKE_HEAD_EATING
-            );
         return maze
             .getSurroundingPositions(current)
             .stream()
-            .filter(pos -> !collisionTypes.contains(maze.getField(pos).type()))
+            .filter(pos -> ShortestPathSnakeControl.isFree(maze, pos.pack()))
             .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    private static boolean isFree(final Maze maze, final int pos) {
+        return !ShortestPathSnakeControl.COLLISION_TYPES.contains(maze.typeAt(pos));
+    }
+
     @Override
     public String getName() {
         return "BFS";
@@ -31,38 +37,40 @@ public class ShortestPathSnakeControl implements SnakeControl {
 
     @Override
     public Direction nextDirection(final Maze maze, final int xPos, final int yPos) {
-        final Queue<Position> poss = new LinkedList<Position>();
-        final Map<Position, Position> predecessors = new LinkedHashMap<Position, Position>();
-        final Position initial = new Position(xPos, yPos);
-        Position current = initial;
-        predecessors.put(current, null);
-        FieldType currentFieldType = maze.getField(current).type();
+        final IntQueue poss = new IntQueue();
+        final IntHashMap predecessors = new IntHashMap();
+        final int[] surrounding = new int[4];
+        final int initial = Position.pack(xPos, yPos);
+        int current = initial;
+        predecessors.put(current, current);
+        FieldType currentFieldType = maze.typeAt(current);
         while (!currentFieldType.equals(FieldType.FOOD) && !currentFieldType.equals(FieldType.COLLISION_ON_FOOD)) {
-            final List<Position> surrounding = ShortestPathSnakeControl.getSurroundingFreePositions(maze, current);
-            surrounding.removeAll(predecessors.keySet());
-            surrounding.removeAll(poss);
-            for (final Position pos : surrounding) {
-                poss.offer(pos);
-                predecessors.put(pos, current);
+            maze.getSurroundingPositions(current, surrounding);
+            for (final int pos : surrounding) {
+                if (!predecessors.containsKey(pos) && ShortestPathSnakeControl.isFree(maze, pos)) {
+                    poss.offer(pos);
+                    predecessors.put(pos, current);
+                }
             }
-            current = poss.poll();
-            if (current == null) {
+            if (poss.isEmpty()) {
                 // no way to food - move to any free field
-                final List<Position> free = ShortestPathSnakeControl.getSurroundingFreePositions(maze, initial);
+                final Position initialPos = new Position(xPos, yPos);
+                final List<Position> free = ShortestPathSnakeControl.getSurroundingFreePositions(maze, initialPos);
                 if (free.isEmpty()) {
                     // well, there is nothing we can do... just die with your head pointing up
                     return Direction.UP;
                 }
-                return initial.computeDirection(free.getFirst());
+                return initialPos.computeDirection(free.getFirst());
             }
-            currentFieldType = maze.getField(current).type();
+            current = poss.poll();
+            currentFieldType = maze.typeAt(current);
         }
-        Position previous = predecessors.get(current);
-        while (!previous.equals(initial)) {
+        int previous = predecessors.get(current, initial);
+        while (previous != initial) {
             current = previous;
-            previous = predecessors.get(current);
+            previous = predecessors.get(current, initial);
         }
-        return initial.computeDirection(current);
+        return new Position(xPos, yPos).computeDirection(Position.unpack(current));
     }
 
 }
@@ -1,6 +1,7 @@
 package generators;
 
 import java.util.*;
+import java.util.random.*;
 
 import model.*;
 
@@ -18,13 +19,21 @@ public class FoodGenerator {
     /**
      * Random number generator.
      */
-    private final Random random = new Random();
+    private final RandomGenerator random;
 
     /**
-     * @param amount The amount of food that should be in the maze.
+     * Creates a food generator using a fresh random number generator.
      */
     public FoodGenerator() {
+        this(new Random());
+    }
+
+    /**
+     * @param random The random number generator to use.
+     */
+    public FoodGenerator(final RandomGenerator random) {
         this.amount = 0;
+        this.random = random;
     }
 
     /**
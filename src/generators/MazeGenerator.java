@@ -1,6 +1,7 @@
 package generators;
 
 import java.util.*;
+import java.util.random.*;
 import java.util.stream.*;
 
 import model.*;
@@ -13,73 +14,69 @@ import util.*;
 public class MazeGenerator {
 
     /**
-     * @param walls The walls.
-     * @param width The width of the maze.
-     * @param height The height of the maze.
-     * @param offset The offset for the maze positions due to the arena setting.
-     * @return True if all free fields can reach each other.
+     * @param pos A packed position.
+     * @param walls The packed positions of the walls.
+     * @param result The array to store the position in if it is free.
+     * @param size The number of positions already stored in the array.
+     * @return The number of positions stored in the array after adding the specified position if it is free.
      */
-    private static boolean allFreeFieldsAreConnected(
-        final Set<Position> walls,
-        final int width,
-        final int height,
-        final int offset
-    ) {
-        final Set<Position> freePoss = MazeGenerator.computeAllFreePositions(walls, width, height, offset);
-        final UnionFind<Position> union = new UnionFind<Position>(freePoss);
-        for (final Position freePos : freePoss) {
-            for (
-                final Position otherFreePos :
-                    MazeGenerator.getSurroundingFreePositions(freePos, walls, width, height, offset)
-            ) {
-                union.union(freePos, otherFreePos);
-            }
+    private static int addIfFree(final int pos, final CellSet walls, final int[] result, final int size) {
+        if (walls.contains(pos)) {
+            return size;
         }
-        return union.getClasses().size() == 1;
+        result[size] = pos;
+        return size + 1;
     }
 
     /**
-     * @param walls The walls.
+     * @param walls The packed positions of the walls.
      * @param width The width of the maze.
      * @param height The height of the maze.
      * @param offset The offset for the maze positions due to the arena setting.
-     * @return The set of all free positions.
+     * @return True if all free fields can reach each other.
      */
-    private static Set<Position> computeAllFreePositions(
-        final Set<Position> walls,
+    private static boolean allFreeFieldsAreConnected(
+        final CellSet walls,
         final int width,
         final int height,
         final int offset
     ) {
-        final Set<Position> res = new LinkedHashSet<Position>();
+        final IntUnionFind union = new IntUnionFind(width * height);
+        final int[] surrounding = new int[4];
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
-                final Position pos = new Position(x + offset, y + offset);
-                if (!walls.contains(pos)) {
-                    res.add(pos);
+                final int freePos = Position.pack(x + offset, y + offset);
+                if (walls.contains(freePos)) {
+                    continue;
+                }
+                union.add(freePos);
+                final int numOfSurrounding =
+                    MazeGenerator.getSurroundingFreePositions(freePos, walls, width, height, offset, surrounding);
+                for (int i = 0; i < numOfSurrounding; i++) {
+                    union.union(freePos, surrounding[i]);
                 }
             }
         }
-        return res;
+        return union.getNumberOfClasses() == 1;
     }
 
     /**
-     * @param walls The walls.
+     * @param walls The packed positions of the walls.
      * @param width The width of the maze.
      * @param height The height of the maze.
      * @param offset The offset for the maze positions due to the arena setting.
-     * @return A set of positions where a wall can be placed.
+     * @return The packed positions where a wall can be placed.
      */
-    private static Set<Position> computeAvailablePositions(
-        final Set<Position> walls,
+    private static CellSet computeAvailablePositions(
+        final CellSet walls,
         final int width,
         final int height,
         final int offset
     ) {
-        final Set<Position> res = new LinkedHashSet<Position>();
+        final CellSet res = new CellSet();
         for (int x = 0; x < width; x++) {
             for (int y = 0; y < height; y++) {
-                final Position pos = new Position(x + offset, y + offset);
+                final int pos = Position.pack(x + offset, y + offset);
                 if (MazeGenerator.isAvailable(pos, walls, width, height, offset)) {
                     res.add(pos);
                 }
@@ -89,100 +86,103 @@ public class MazeGenerator {
     }
 
     /**
-     * @param pos A position.
-     * @param walls The walls.
+     * @param pos A packed position.
+     * @param walls The packed positions of the walls.
      * @param width The width of the maze.
      * @param height The height of the maze.
      * @param offset The offset for the maze positions due to the arena setting.
-     * @return The positions of the surrounding free positions of the specified position.
+     * @param result An array of length at least four to store the packed surrounding free positions in.
+     * @return The number of surrounding free positions of the specified position stored in the result array.
      */
-    private static List<Position> getSurroundingFreePositions(
-        final Position pos,
-        final Set<Position> walls,
+    private static int getSurroundingFreePositions(
+        final int pos,
+        final CellSet walls,
         final int width,
         final int height,
-        final int offset
+        final int offset,
+        final int[] result
     ) {
-        final List<Position> res = new ArrayList<Position>(4);
-        final int x = pos.getX();
-        final int y = pos.getY();
+        final int x = Position.unpackX(pos);
+        final int y = Position.unpackY(pos);
+        int res = 0;
         if (x == 0) {
             if (offset == 0) {
-                res.add(new Position(width - 1, y));
+                res = MazeGenerator.addIfFree(Position.pack(width - 1, y), walls, result, res);
             }
         } else {
-            res.add(new Position(x - 1, y));
+            res = MazeGenerator.addIfFree(Position.pack(x - 1, y), walls, result, res);
         }
         if (x == width - 1) {
             if (offset == 0) {
-                res.add(new Position(0, y));
+                res = MazeGenerator.addIfFree(Position.pack(0, y), walls, result, res);
             }
         } else {
-            res.add(new Position(x + 1, y));
+            res = MazeGenerator.addIfFree(Position.pack(x + 1, y), walls, result, res);
         }
         if (y == 0) {
             if (offset == 0) {
-                res.add(new Position(x, height - 1));
+                res = MazeGenerator.addIfFree(Position.pack(x, height - 1), walls, result, res);
             }
         } else {
-            res.add(new Position(x, y - 1));
+            res = MazeGenerator.addIfFree(Position.pack(x, y - 1), walls, result, res);
         }
         if (y == height - 1) {
             if (offset == 0) {
-                res.add(new Position(x, 0));
+                res = MazeGenerator.addIfFree(Position.pack(x, 0), walls, result, res);
             }
         } else {
-            res.add(new Position(x, y + 1));
+            res = MazeGenerator.addIfFree(Position.pack(x, y + 1), walls, result, res);
         }
-        res.removeAll(walls);
         return res;
     }
 
     /**
-     * @param pos A position.
-     * @param walls The walls.
+     * @param pos A packed position.
+     * @param walls The packed positions of the walls.
      * @param width The width of the maze.
      * @param height The height of the maze.
      * @param offset The offset for the maze positions due to the arena setting.
      * @return True if it is possible to place a wall at the specified position.
      */
     private static boolean isAvailable(
-        final Position pos,
-        final Set<Position> walls,
+        final int pos,
+        final CellSet walls,
         final int width,
         final int height,
         final int offset
     ) {
-        return
-            !walls.contains(pos)
-            && MazeGenerator.surroundingFieldsHaveThreeConnections(pos, walls, width, height, offset)
-            && MazeGenerator.allFreeFieldsAreConnected(
-                Stream.concat(walls.stream(), Stream.of(pos)).collect(Collectors.toSet()),
-                width,
-                height,
-                offset
-            );
+        if (
+            walls.contains(pos)
+            || !MazeGenerator.surroundingFieldsHaveThreeConnections(pos, walls, width, height, offset)
+        ) {
+            return false;
+        }
+        final CellSet withPos = new CellSet(walls);
+        withPos.add(pos);
+        return MazeGenerator.allFreeFieldsAreConnected(withPos, width, height, offset);
     }
 
     /**
-     * @param pos A position.
-     * @param walls The walls.
+     * @param pos A packed position.
+     * @param walls The packed positions of the walls.
      * @param width The width of the maze.
      * @param height The height of the maze.
      * @param offset The offset for the maze positions due to the arena setting.
      * @return True if all free surrounding fields currently have at least 3 free surrounding fields themselves.
      */
     private static boolean surroundingFieldsHaveThreeConnections(
-        final Position pos,
-        final Set<Position> walls,
+        final int pos,
+        final CellSet walls,
         final int width,
         final int height,
         final int offset
     ) {
-        for (
-            final Position surrounding : MazeGenerator.getSurroundingFreePositions(pos, walls, width, height, offset)
-        ) {
-            if (MazeGenerator.getSurroundingFreePositions(surrounding, walls, width, height, offset).size() < 3) {
+        final int[] surrounding = new int[4];
+        final int[] next = new int[4];
+        final int numOfSurrounding =
+            MazeGenerator.getSurroundingFreePositions(pos, walls, width, height, offset, surrounding);
+        for (int i = 0; i < numOfSurrounding; i++) {
+            if (MazeGenerator.getSurroundingFreePositions(surrounding[i], walls, width, height, offset, next) < 3) {
                 return false;
             }
         }
@@ -192,7 +192,21 @@ public class MazeGenerator {
     /**
      * Random number generator.
      */
-    private final Random random = new Random();
+    private final RandomGenerator random;
+
+    /**
+     * Creates a maze generator using a fresh random number generator.
+     */
+    public MazeGenerator() {
+        this(new Random());
+    }
+
+    /**
+     * @param random The random number generator to use.
+     */
+    public MazeGenerator(final RandomGenerator random) {
+        this.random = random;
+    }
 
     /**
      * @param width The width of the maze.
@@ -205,17 +219,17 @@ public class MazeGenerator {
         if (walls > width * height) {
             throw new IllegalArgumentException("Not enough fields to place the walls!");
         }
-        final Set<Position> result = new LinkedHashSet<Position>();
+        final CellSet result = new CellSet();
         final int offset;
         final int total;
         if (arena) {
             for (int x = 0; x < width + 2; x++) {
-                result.add(new Position(x, 0));
-                result.add(new Position(x, height + 1));
+                result.add(Position.pack(x, 0));
+                result.add(Position.pack(x, height + 1));
             }
             for (int y = 1; y < height + 1; y++) {
-                result.add(new Position(0, y));
-                result.add(new Position(width + 1, y));
+                result.add(Position.pack(0, y));
+                result.add(Position.pack(width + 1, y));
             }
             offset = 1;
             total = walls + result.size();
@@ -226,22 +240,21 @@ public class MazeGenerator {
         int todo = total - result.size();
         while (todo > 0) {
             final int oldResultSize = result.size();
-            final Collection<Position> wall = this.generateWall(width, height, offset, todo);
-            for (final Position brick : wall) {
+            for (final int brick : this.generateWall(width, height, offset, todo)) {
                 if (MazeGenerator.isAvailable(brick, result, width, height, offset)) {
                     result.add(brick);
                 }
             }
             final int newResultSize = result.size();
             if (oldResultSize == newResultSize) {
-                final Set<Position> available = MazeGenerator.computeAvailablePositions(result, width, height, offset);
+                final CellSet available = MazeGenerator.computeAvailablePositions(result, width, height, offset);
                 if (available.size() < todo) {
                     throw new IllegalStateException("Not enough valid fields left to place the walls!");
                 }
             }
             todo = total - newResultSize;
         }
-        return result;
+        return result.stream().mapToObj(Position::unpack).collect(Collectors.toList());
     }
 
     /**
@@ -249,22 +262,22 @@ public class MazeGenerator {
      * @param height The width of the maze.
      * @param offset An offset for the positions to be generated.
      * @param todo The number of walls left to be added.
-     * @return A straight line of walls somewhere in the maze which is at most as long as the remaining walls to be
-     *         added.
+     * @return The packed positions of a straight line of walls somewhere in the maze which is at most as long as the
+     *         remaining walls to be added.
      */
-    private Collection<Position> generateWall(final int width, final int height, final int offset, final int todo) {
+    private int[] generateWall(final int width, final int height, final int offset, final int todo) {
         final int x = this.random.nextInt(width);
         final int y = this.random.nextInt(height);
         final boolean horizontal = this.random.nextBoolean();
         final int length = this.random.nextInt(todo) + 1;
-        final Collection<Position> res = new LinkedList<Position>();
+        final int[] res = new int[length];
         if (horizontal) {
             for (int i = 0; i < length; i++) {
-                res.add(new Position(((x + i) % width) + offset, y + offset));
+                res[i] = Position.pack(((x + i) % width) + offset, y + offset);
             }
         } else {
             for (int i = 0; i < length; i++) {
-                res.add(new Position(x + offset, ((y + i) % height) + offset));
+                res[i] = Position.pack(x + offset, ((y + i) % height) + offset);
             }
         }
         return res;
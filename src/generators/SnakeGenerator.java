@@ -2,6 +2,7 @@ package generators;
 
 import java.awt.Color;
 import java.util.*;
+import java.util.random.*;
 
 import control.*;
 import model.*;
@@ -31,7 +32,21 @@ public class SnakeGenerator {
     /**
      * Random number generator.
      */
-    private final Random random = new Random();
+    private final RandomGenerator random;
+
+    /**
+     * Creates a snake generator using a fresh random number generator.
+     */
+    public SnakeGenerator() {
+        this(new Random());
+    }
+
+    /**
+     * @param random The random number generator to use.
+     */
+    public SnakeGenerator(final RandomGenerator random) {
+        this.random = random;
+    }
 
     /**
      * @param snakeControls The snake controls to create snakes for.
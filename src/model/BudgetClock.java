@@ -0,0 +1,22 @@
+package model;
+
+/**
+ * Clock measuring the time a snake control uses for a decision.
+ * @author cryingshadow
+ */
+public enum BudgetClock {
+
+    /**
+     * The CPU time used by the thread computing the decision. Time spent waiting for a processor or blocked does not
+     * count. Falls back to WALL_TIME if the JVM cannot measure the CPU time of the thread (in particular for virtual
+     * threads), which is reported on the standard error.
+     */
+    CPU_TIME,
+
+    /**
+     * The wall-clock time elapsed since the snake control actually started computing the decision (i.e., without the
+     * time waiting for the worker to be scheduled).
+     */
+    WALL_TIME
+
+}
@@ -1,6 +1,7 @@
 package model;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import javax.swing.event.*;
 
@@ -11,7 +12,7 @@ import javax.swing.event.*;
 public abstract class ChangeListenable {
 
     /**
-     * Listeners for changes to this model.
+     * Listeners for changes to this model. Listeners may be added and removed by other threads while notifying.
      */
     private final List<ChangeListener> listeners;
 
@@ -19,7 +20,7 @@ public abstract class ChangeListenable {
      * Constructor.
      */
     public ChangeListenable() {
-        this.listeners = new LinkedList<ChangeListener>();
+        this.listeners = new CopyOnWriteArrayList<ChangeListener>();
     }
 
     /**
@@ -30,12 +31,23 @@ public abstract class ChangeListenable {
         this.listeners.add(listener);
     }
 
+    /**
+     * @return The number of registered change listeners.
+     */
+    public int getListenerCount() {
+        return this.listeners.size();
+    }
+
     /**
      * Notify all registered change listeners that the settings have changed.
      */
     public void notifyChangeListeners() {
+        if (this.listeners.isEmpty()) {
+            return;
+        }
+        final ChangeEvent event = new ChangeEvent(this);
         for (final ChangeListener listener : this.listeners) {
-            listener.stateChanged(new ChangeEvent(this));
+            listener.stateChanged(event);
         }
     }
 
@@ -0,0 +1,67 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Append-only log of the packed positions of fields which changed between consecutive mazes published by the same
+ * engine. Each maze remembers the size of the log at its creation such that the fields which may differ between two
+ * mazes sharing a log are exactly those logged in between (see Maze.getChangesSince). Only a single thread may append
+ * to a log while any thread a maze has been handed to may read the entries covered by that maze.
+ * @author cryingshadow
+ */
+public class ChangeLog {
+
+    /**
+     * The initial capacity of a log.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * The logged positions. When full, it is replaced by a larger copy (volatile such that readers see the copied
+     * entries).
+     */
+    private volatile int[] entries;
+
+    /**
+     * The number of logged positions.
+     */
+    private volatile int size;
+
+    /**
+     * Creates an empty log.
+     */
+    public ChangeLog() {
+        this.entries = new int[ChangeLog.INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * @param pos The packed position of a changed field.
+     */
+    public void add(final int pos) {
+        int[] entries = this.entries;
+        if (this.size == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+            this.entries = entries;
+        }
+        entries[this.size] = pos;
+        this.size++;
+    }
+
+    /**
+     * @param from The index of the first entry.
+     * @param to The index after the last entry. It must not exceed the size of this log.
+     * @return The logged positions in the specified range.
+     */
+    public int[] get(final int from, final int to) {
+        return Arrays.copyOfRange(this.entries, from, to);
+    }
+
+    /**
+     * @return The number of logged positions.
+     */
+    public int size() {
+        return this.size;
+    }
+
+}
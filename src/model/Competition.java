@@ -6,6 +6,11 @@ package model;
  */
 public class Competition extends ChangeListenable {
 
+    /**
+     * The number of ticks dropped because turns took longer than the period of the speed.
+     */
+    private long droppedTicks;
+
     /**
      * Is the competition running?
      */
@@ -23,6 +28,21 @@ public class Competition extends ChangeListenable {
         this.reset();
     }
 
+    /**
+     * @param ticks The number of ticks dropped because turns took longer than the period of the speed.
+     */
+    public void addDroppedTicks(final long ticks) {
+        this.droppedTicks += ticks;
+        this.notifyChangeListeners();
+    }
+
+    /**
+     * @return The number of ticks dropped because turns took longer than the period of the speed.
+     */
+    public long getDroppedTicks() {
+        return this.droppedTicks;
+    }
+
     /**
      * @return The number of turns.
      */
@@ -46,11 +66,12 @@ public class Competition extends ChangeListenable {
     }
 
     /**
-     * Stops and resets the competition to zero turns.
+     * Stops and resets the competition to zero turns and zero dropped ticks.
      */
     public void reset() {
         this.running = false;
         this.turns = 0;
+        this.droppedTicks = 0;
         this.notifyChangeListeners();
     }
 
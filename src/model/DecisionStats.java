@@ -0,0 +1,237 @@
+package model;
+
+import java.io.*;
+import java.util.*;
+
+import util.*;
+
+/**
+ * Thread-safe statistics about the decisions of a snake control: the latency of each decision, the number of
+ * decisions taking too long, the number of decisions failing with an exception, and the number of runaway decisions
+ * (still computing at the ceiling of a turn) along with the CPU time they burned.
+ * @author cryingshadow
+ */
+public class DecisionStats {
+
+    /**
+     * The header of the CSV representation of decision statistics.
+     */
+    public static final String CSV_HEADER =
+        "name,decisions,timeouts,exceptions,runaways,runaway_cpu_ms,mean_ms,p50_ms,p90_ms,p99_ms,max_ms";
+
+    /**
+     * Writes the specified decision statistics as CSV (including a header line).
+     * @param out The destination.
+     * @param stats The decision statistics along with the names of the corresponding snake controls.
+     * @throws IOException If writing fails.
+     */
+    public static void writeCsv(
+        final Appendable out,
+        final List<Pair<String, DecisionStats>> stats
+    ) throws IOException {
+        out.append(DecisionStats.CSV_HEADER);
+        out.append(System.lineSeparator());
+        for (final Pair<String, DecisionStats> entry : stats) {
+            out.append(entry.getValue().toCsv(entry.getKey()));
+            out.append(System.lineSeparator());
+        }
+    }
+
+    /**
+     * @param nanos A duration in nanoseconds.
+     * @return The specified duration in milliseconds.
+     */
+    private static double toMillis(final double nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * The number of decisions failing with an exception.
+     */
+    private int exceptions;
+
+    /**
+     * The latencies of all decisions in nanoseconds.
+     */
+    private final LatencyHistogram latencies;
+
+    /**
+     * The CPU time in nanoseconds used by runaway decisions.
+     */
+    private long runawayCpuTime;
+
+    /**
+     * The number of runaway decisions.
+     */
+    private int runaways;
+
+    /**
+     * The number of decisions taking too long.
+     */
+    private int timeouts;
+
+    /**
+     * Creates empty statistics.
+     */
+    public DecisionStats() {
+        this.latencies = new LatencyHistogram();
+        this.timeouts = 0;
+        this.exceptions = 0;
+        this.runaways = 0;
+        this.runawayCpuTime = 0;
+    }
+
+    /**
+     * @param stats The statistics to copy.
+     */
+    public DecisionStats(final DecisionStats stats) {
+        synchronized (stats) {
+            this.latencies = new LatencyHistogram(stats.latencies);
+            this.timeouts = stats.timeouts;
+            this.exceptions = stats.exceptions;
+            this.runaways = stats.runaways;
+            this.runawayCpuTime = stats.runawayCpuTime;
+        }
+    }
+
+    /**
+     * Adds the specified statistics to these statistics.
+     * @param stats Other statistics.
+     */
+    public void add(final DecisionStats stats) {
+        final DecisionStats copy = new DecisionStats(stats);
+        synchronized (this) {
+            this.latencies.add(copy.latencies);
+            this.timeouts += copy.timeouts;
+            this.exceptions += copy.exceptions;
+            this.runaways += copy.runaways;
+            this.runawayCpuTime += copy.runawayCpuTime;
+        }
+    }
+
+    /**
+     * @return A short human-readable summary of these statistics.
+     */
+    public synchronized String describe() {
+        return String.format(
+            Locale.ROOT,
+            "p50 %.3f / p90 %.3f / p99 %.3f / max %.3f ms, %d timeouts, %d exceptions, %d runaways (%.1f ms CPU)",
+            DecisionStats.toMillis(this.latencies.getValueAtPercentile(50)),
+            DecisionStats.toMillis(this.latencies.getValueAtPercentile(90)),
+            DecisionStats.toMillis(this.latencies.getValueAtPercentile(99)),
+            DecisionStats.toMillis(this.latencies.getMax()),
+            this.timeouts,
+            this.exceptions,
+            this.runaways,
+            DecisionStats.toMillis(this.runawayCpuTime)
+        );
+    }
+
+    /**
+     * @return The number of decisions whose latency has been recorded.
+     */
+    public long getDecisions() {
+        return this.latencies.getCount();
+    }
+
+    /**
+     * @return The number of decisions failing with an exception.
+     */
+    public synchronized int getExceptions() {
+        return this.exceptions;
+    }
+
+    /**
+     * @param percentile A percentile between 0 and 100.
+     * @return The decision latency in nanoseconds not exceeded by the specified percentage of decisions.
+     */
+    public long getLatency(final double percentile) {
+        return this.latencies.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * @return The greatest decision latency in nanoseconds.
+     */
+    public long getMaxLatency() {
+        return this.latencies.getMax();
+    }
+
+    /**
+     * @return The CPU time in nanoseconds used by runaway decisions (as far as it could be measured).
+     */
+    public synchronized long getRunawayCpuTime() {
+        return this.runawayCpuTime;
+    }
+
+    /**
+     * @return The number of runaways, i.e., turns at whose ceiling a decision was still being computed.
+     */
+    public synchronized int getRunaways() {
+        return this.runaways;
+    }
+
+    /**
+     * @return The number of decisions taking too long.
+     */
+    public synchronized int getTimeouts() {
+        return this.timeouts;
+    }
+
+    /**
+     * @param nanos The latency of a decision in nanoseconds.
+     */
+    public void recordDecision(final long nanos) {
+        this.latencies.record(nanos);
+    }
+
+    /**
+     * Counts a decision failing with an exception.
+     */
+    public synchronized void recordException() {
+        this.exceptions++;
+    }
+
+    /**
+     * Counts a runaway, i.e., a turn at whose ceiling a decision was still being computed.
+     */
+    public synchronized void recordRunaway() {
+        this.runaways++;
+    }
+
+    /**
+     * @param nanos The CPU time in nanoseconds used by a runaway decision.
+     */
+    public synchronized void recordRunawayCpuTime(final long nanos) {
+        this.runawayCpuTime += nanos;
+    }
+
+    /**
+     * Counts a decision taking too long.
+     */
+    public synchronized void recordTimeout() {
+        this.timeouts++;
+    }
+
+    /**
+     * @param name The name of the snake control.
+     * @return A CSV line (without line break) matching CSV_HEADER.
+     */
+    public synchronized String toCsv(final String name) {
+        return String.format(
+            Locale.ROOT,
+            "\"%s\",%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f",
+            name.replace("\"", "\"\""),
+            this.latencies.getCount(),
+            this.timeouts,
+            this.exceptions,
+            this.runaways,
+            DecisionStats.toMillis(this.runawayCpuTime),
+            DecisionStats.toMillis(this.latencies.getMean()),
+            DecisionStats.toMillis(this.latencies.getValueAtPercentile(50)),
+            DecisionStats.toMillis(this.latencies.getValueAtPercentile(90)),
+            DecisionStats.toMillis(this.latencies.getValueAtPercentile(99)),
+            DecisionStats.toMillis(this.latencies.getMax())
+        );
+    }
+
+}
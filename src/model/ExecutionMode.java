@@ -0,0 +1,54 @@
+package model;
+
+import java.util.concurrent.*;
+
+/**
+ * Kind of threads the snake controls compute their decisions on. Each snake control owns one long-lived thread of
+ * this kind. The mode must be chosen before the snake controls are loaded.
+ * @author cryingshadow
+ */
+public enum ExecutionMode {
+
+    /**
+     * Platform (operating system) threads. Each snake control can run truly in parallel, but each thread reserves its
+     * own stack and costs a context switch.
+     */
+    PLATFORM_THREADS,
+
+    /**
+     * Virtual threads scheduled on a small carrier pool. They are cheap enough for hundreds of snakes per maze and
+     * many concurrent matches, but a snake control computing without blocking occupies a carrier until it is done. The
+     * JVM cannot measure the CPU time of virtual threads such that the CPU time budget clock falls back to the wall
+     * time (which includes time the thread waits for a carrier) with a warning. Use platform threads for CPU time
+     * budgets.
+     */
+    VIRTUAL_THREADS,
+
+    /**
+     * Each snake control runs in its own JVM process fed with maze deltas over its standard input. This isolates the
+     * engine from the memory and CPU usage of the snake controls (runaway processes are killed), but each decision
+     * costs a round trip between processes. The engine waits for the decisions on platform threads. CPU time budgets
+     * cannot be measured across processes such that decisions are always measured by the wall time clock (including
+     * the round trip), regardless of the configured budget clock.
+     */
+    PROCESSES;
+
+    /**
+     * @param prefix The prefix of the thread names.
+     * @return A factory creating threads of this kind whose names consist of the specified prefix followed by a
+     *         consecutive number. Platform threads are daemons such that hanging snake controls cannot keep the
+     *         application alive.
+     */
+    public ThreadFactory threadFactory(final String prefix) {
+        switch (this) {
+            case PLATFORM_THREADS:
+            case PROCESSES:
+                return Thread.ofPlatform().daemon().name(prefix, 0).factory();
+            case VIRTUAL_THREADS:
+                return Thread.ofVirtual().name(prefix, 0).factory();
+            default:
+                throw new IllegalStateException("Someone found a new execution mode...");
+        }
+    }
+
+}
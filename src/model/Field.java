@@ -2,12 +2,60 @@ package model;
 
 import java.awt.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 public record Field(FieldType type, Optional<Color> snakeColor) {
 
+    /**
+     * Canonical fields without snake colour indexed by the ordinal of their type.
+     */
+    private static final Field[] PLAIN = Field.createFields(Optional.empty());
+
+    /**
+     * Canonical fields for each snake colour indexed by the ordinal of their type.
+     */
+    private static final Map<Color, Field[]> COLORED = new ConcurrentHashMap<Color, Field[]>();
+
+    /**
+     * @param type The type of the field.
+     * @return The canonical field of the specified type without snake colour.
+     */
+    public static Field of(final FieldType type) {
+        return Field.PLAIN[type.ordinal()];
+    }
+
+    /**
+     * @param type The type of the field.
+     * @param snakeColor The colour of the snake occupying the field.
+     * @return The canonical field of the specified type with the specified snake colour.
+     */
+    public static Field of(final FieldType type, final Color snakeColor) {
+        return Field.COLORED.computeIfAbsent(snakeColor, Field::createFields)[type.ordinal()];
+    }
+
+    /**
+     * @param snakeColor The colour of the snake occupying the field.
+     * @return Fields of all types with the specified snake colour indexed by the ordinal of their type.
+     */
+    private static Field[] createFields(final Color snakeColor) {
+        return Field.createFields(Optional.of(snakeColor));
+    }
+
+    /**
+     * @param snakeColor The colour of the snake occupying the field if any.
+     * @return Fields of all types with the specified snake colour indexed by the ordinal of their type.
+     */
+    private static Field[] createFields(final Optional<Color> snakeColor) {
+        final FieldType[] types = FieldType.values();
+        final Field[] result = new Field[types.length];
+        for (final FieldType type : types) {
+            result[type.ordinal()] = new Field(type, snakeColor);
+        }
+        return result;
+    }
+
     public Field(final FieldType type) {
         this(type, Optional.empty());
     }
 
-
 }
@@ -1,38 +1,119 @@
 package model;
 
 import java.util.*;
+import java.util.function.*;
 
 import generators.*;
+import util.*;
 
 public class FoodPositions {
 
-    private final Collection<Position> food;
+    private final CellSet cells;
+
+    private int[] dense;
 
     private final FoodGenerator generator;
 
+    private int size;
+
+    private final IntHashMap slots;
+
     public FoodPositions(final FoodGenerator foodGenerator) {
-        this.food = new LinkedHashSet<Position>();
+        this.cells = new CellSet();
+        this.dense = new int[16];
+        this.size = 0;
+        this.slots = new IntHashMap();
         this.generator = foodGenerator;
     }
 
+    public boolean addFood(final int pos) {
+        if (!this.cells.add(pos)) {
+            return false;
+        }
+        if (this.size == this.dense.length) {
+            this.dense = Arrays.copyOf(this.dense, this.dense.length << 1);
+        }
+        this.dense[this.size] = pos;
+        this.slots.put(pos, this.size);
+        this.size++;
+        return true;
+    }
+
+    public List<Position> addFood(final Collection<Position> poss) {
+        final List<Position> added = new ArrayList<Position>(poss.size());
+        for (final Position pos : poss) {
+            if (this.addFood(pos.pack())) {
+                added.add(pos);
+            }
+        }
+        return added;
+    }
+
     public void clear() {
-        this.food.clear();
+        this.cells.clear();
+        this.slots.clear();
+        this.size = 0;
     }
 
-    public void generateFood(final Maze maze) {
-        this.food.addAll(this.generator.generateFood(maze));
+    public void forEach(final IntConsumer action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.dense[i]);
+        }
+    }
+
+    public List<Position> generateFood(final Maze maze) {
+        return this.addFood(this.generator.generateFood(maze));
+    }
+
+    public List<Position> getFood() {
+        final List<Position> res = new ArrayList<Position>(this.size);
+        this.forEach(pos -> res.add(Position.unpack(pos)));
+        return res;
+    }
+
+    public boolean isFood(final int pos) {
+        return this.cells.contains(pos);
     }
 
     public boolean isFood(final Position pos) {
-        return this.food.stream().filter(foodPos -> foodPos.equals(pos)).findFirst().isPresent();
+        return this.isFood(pos.pack());
+    }
+
+    public boolean needsFood(final int eaten) {
+        return this.size - eaten < this.generator.getAmount();
     }
 
-    public boolean removeFood(final Collection<Position> poss) {
-        return this.food.removeAll(poss);
+    public boolean removeFood(final int pos) {
+        if (!this.cells.remove(pos)) {
+            return false;
+        }
+        final int slot = this.slots.get(pos, -1);
+        this.slots.remove(pos);
+        this.size--;
+        if (slot < this.size) {
+            final int last = this.dense[this.size];
+            this.dense[slot] = last;
+            this.slots.put(last, slot);
+        }
+        return true;
+    }
+
+    public List<Position> removeFood(final Collection<Position> poss) {
+        final List<Position> removed = new ArrayList<Position>(poss.size());
+        for (final Position pos : poss) {
+            if (this.removeFood(pos.pack())) {
+                removed.add(pos);
+            }
+        }
+        return removed;
     }
 
     public void setMinAmount(final int amount) {
         this.generator.setAmount(amount);
     }
 
+    public int size() {
+        return this.size;
+    }
+
 }
@@ -1,69 +1,242 @@
 package model;
 
+import java.awt.*;
 import java.util.*;
+import java.util.List;
 import java.util.function.*;
 
 /**
- * A maze is a rectangular collection of fields.
+ * A maze is a rectangular collection of fields. The fields are stored as cell codes in one array per row. Each code
+ * contains the ordinal of the field type in its lowest TYPE_BITS bits and the index of the snake occupying the field
+ * plus one in the remaining bits. The primitive accessors (typeAt, isObstacle, snakeIndexAt, getRow) do not allocate
+ * anything while getField is kept for compatibility and returns the canonical Field instances. The cell codes of a
+ * maze are never modified after construction such that mazes can share the rows they have in common (see
+ * MazeEngine). Mazes published by the same engine share a change log such that consumers can find the fields which
+ * changed between two of them without comparing all fields (see getChangesSince).
  * @author cryingshadow
  */
 public class Maze extends ChangeListenable {
 
     /**
-     * The maze.
+     * The maximum number of snakes whose index can be stored in a cell code.
      */
-    private Field[][] maze;
+    public static final int MAX_SNAKES = Short.MAX_VALUE >> Maze.TYPE_BITS;
+
+    /**
+     * The snake index of fields not occupied by a single snake.
+     */
+    public static final int NO_SNAKE = -1;
+
+    /**
+     * The number of bits used for the field type in a cell code.
+     */
+    public static final int TYPE_BITS = 4;
+
+    /**
+     * Mask extracting the ordinal of the field type from a cell code.
+     */
+    private static final int TYPE_MASK = (1 << Maze.TYPE_BITS) - 1;
+
+    /**
+     * The field types indexed by their ordinal.
+     */
+    private static final FieldType[] TYPES = FieldType.values();
+
+    /**
+     * @param type The type of a field.
+     * @param snakeIndex The index of the snake occupying the field or NO_SNAKE.
+     * @return The cell code for the specified field.
+     */
+    public static short encode(final FieldType type, final int snakeIndex) {
+        if (snakeIndex < Maze.NO_SNAKE || snakeIndex >= Maze.MAX_SNAKES) {
+            throw new IllegalArgumentException("Snake index out of range: " + snakeIndex);
+        }
+        return (short)(((snakeIndex + 1) << Maze.TYPE_BITS) | type.ordinal());
+    }
+
+    /**
+     * @param code A cell code.
+     * @return The index of the snake occupying the field with the specified code or NO_SNAKE.
+     */
+    public static int snakeIndexOf(final short code) {
+        return (code >> Maze.TYPE_BITS) - 1;
+    }
+
+    /**
+     * @param code A cell code.
+     * @return The type of the field with the specified code.
+     */
+    public static FieldType typeOf(final short code) {
+        return Maze.TYPES[code & Maze.TYPE_MASK];
+    }
+
+    /**
+     * The cell codes indexed by row and column. The rows may be shared with other mazes and are never modified.
+     */
+    private short[][] rows;
+
+    /**
+     * The number of entries of the change log covering the changes up to this maze.
+     */
+    private int changeCount;
+
+    /**
+     * The log of changes shared with the other mazes published by the same engine or null if there is none.
+     */
+    private ChangeLog changes;
+
+    /**
+     * The height of the maze.
+     */
+    private int height;
+
+    /**
+     * The colors of the snakes indexed by the snake indices stored in the cell codes.
+     */
+    private Color[] snakeColors;
+
+    /**
+     * The width of the maze.
+     */
+    private int width;
 
     /**
      * @param maze The maze.
      */
     public Maze(final Field[][] maze) {
-        this.maze = maze;
+        this.setCells(maze);
+    }
+
+    /**
+     * @param width The width of the maze.
+     * @param height The height of the maze.
+     * @param cells The cell codes in row-major order. They are copied.
+     * @param snakeColors The colors of the snakes indexed by the snake indices stored in the cell codes.
+     */
+    public Maze(final int width, final int height, final short[] cells, final Color[] snakeColors) {
+        if (cells.length != width * height) {
+            throw new IllegalArgumentException("The number of cells does not match the dimensions of the maze!");
+        }
+        this.width = width;
+        this.height = height;
+        this.rows = new short[height][];
+        for (int y = 0; y < height; y++) {
+            this.rows[y] = Arrays.copyOfRange(cells, y * width, (y + 1) * width);
+        }
+        this.snakeColors = snakeColors;
+    }
+
+    /**
+     * @param width The width of the maze.
+     * @param height The height of the maze.
+     * @param rows The cell codes indexed by row and column. Neither the array nor the rows must be modified
+     *             afterwards, but the rows may be shared with other mazes.
+     * @param snakeColors The colors of the snakes indexed by the snake indices stored in the cell codes.
+     */
+    public Maze(final int width, final int height, final short[][] rows, final Color[] snakeColors) {
+        this(width, height, rows, snakeColors, null);
+    }
+
+    /**
+     * @param width The width of the maze.
+     * @param height The height of the maze.
+     * @param rows The cell codes indexed by row and column. Neither the array nor the rows must be modified
+     *             afterwards, but the rows may be shared with other mazes.
+     * @param snakeColors The colors of the snakes indexed by the snake indices stored in the cell codes.
+     * @param changes The log of changes shared with the mazes published before by the same engine (already containing
+     *                the positions changed for this maze) or null if there is none.
+     */
+    public Maze(
+        final int width,
+        final int height,
+        final short[][] rows,
+        final Color[] snakeColors,
+        final ChangeLog changes
+    ) {
+        if (rows.length != height) {
+            throw new IllegalArgumentException("The number of rows does not match the height of the maze!");
+        }
+        for (final short[] row : rows) {
+            if (row.length != width) {
+                throw new IllegalArgumentException("The length of a row does not match the width of the maze!");
+            }
+        }
+        this.width = width;
+        this.height = height;
+        this.rows = rows;
+        this.snakeColors = snakeColors;
+        this.changes = changes;
+        this.changeCount = changes == null ? 0 : changes.size();
     }
 
     /**
      * @param maze The maze.
      */
     public Maze(final Maze maze) {
-        this.maze = maze.maze;
+        this.setCells(maze);
     }
 
     /**
      * Creates a maze according to the specified settings with free fields.
      * @param settings The settings.
-     * @param height The height of the maze.
      */
     public Maze(final Settings settings) {
         if (settings.isArena()) {
-            this.maze = new Field[settings.getHeight() + 2][settings.getWidth() + 2];
-            for (int i = 1; i < this.maze.length - 1; i++) {
-                for (int j = 1; j < this.maze[i].length - 1; j++) {
-                    this.maze[i][j] = new Field(FieldType.FREE, Optional.empty());
-                }
-            }
-            for (int i = 0; i < this.maze.length; i++) {
-                this.maze[i][0] = new Field(FieldType.WALL, Optional.empty());
-                this.maze[i][this.maze[i].length - 1] = new Field(FieldType.WALL, Optional.empty());
-            }
-            for (int i = 0; i < this.maze[0].length; i++) {
-                this.maze[0][i] = new Field(FieldType.WALL, Optional.empty());
-                this.maze[this.maze.length - 1][i] = new Field(FieldType.WALL, Optional.empty());
-            }
+            this.width = settings.getWidth() + 2;
+            this.height = settings.getHeight() + 2;
         } else {
-            this.maze = new Field[settings.getHeight()][settings.getWidth()];
-            for (int i = 0; i < this.maze.length; i++) {
-                for (int j = 0; j < this.maze[i].length; j++) {
-                    this.maze[i][j] = new Field(FieldType.FREE, Optional.empty());
-                }
-            }
+            this.width = settings.getWidth();
+            this.height = settings.getHeight();
+        }
+        this.snakeColors = new Color[0];
+        // rows with the same content can be shared since they are never modified
+        final short[] inner = new short[this.width];
+        Arrays.fill(inner, Maze.encode(FieldType.FREE, Maze.NO_SNAKE));
+        this.rows = new short[this.height][];
+        Arrays.fill(this.rows, inner);
+        if (settings.isArena()) {
+            final short wall = Maze.encode(FieldType.WALL, Maze.NO_SNAKE);
+            final short[] border = new short[this.width];
+            Arrays.fill(border, wall);
+            inner[0] = wall;
+            inner[this.width - 1] = wall;
+            this.rows[0] = border;
+            this.rows[this.height - 1] = border;
+        }
+    }
+
+    /**
+     * @param x The horizontal position.
+     * @param y The vertical position.
+     * @return The cell code of the field at the specified position.
+     */
+    public short codeAt(final int x, final int y) {
+        return this.rows[y][x];
+    }
+
+    /**
+     * @param earlier A maze.
+     * @return The packed positions (possibly with duplicates) of all fields which may differ between the specified
+     *         maze and this maze if both have been published by the same engine, the specified maze not after this
+     *         one, and they have the same snake colors. Nothing otherwise, in which case any field may differ.
+     */
+    public Optional<int[]> getChangesSince(final Maze earlier) {
+        if (
+            this.changes == null
+            || this.changes != earlier.changes
+            || earlier.changeCount > this.changeCount
+            || !Arrays.equals(this.snakeColors, earlier.snakeColors)
+        ) {
+            return Optional.empty();
         }
+        return Optional.of(this.changes.get(earlier.changeCount, this.changeCount));
     }
 
     /**
      * @return The positions of food that is being eaten.
      */
     public Collection<Position> getEatenFood() {
-        return this.getPositions(field -> field.type().equals(FieldType.SNAKE_HEAD_EATING));
+        return this.getPositionsOfType(FieldType.SNAKE_HEAD_EATING);
     }
 
     /**
@@ -72,7 +245,15 @@ public class Maze extends ChangeListenable {
      * @return The field at the specified position.
      */
     public Field getField(final int x, final int y) {
-        return this.maze[y][x];
+        return this.toField(this.rows[y][x]);
+    }
+
+    /**
+     * @param pos A packed position (see Position.pack).
+     * @return The field at the specified position.
+     */
+    public Field getField(final int pos) {
+        return this.getField(Position.unpackX(pos), Position.unpackY(pos));
     }
 
     /**
@@ -87,21 +268,21 @@ public class Maze extends ChangeListenable {
      * @return The positions with food on them that is not being eaten.
      */
     public Collection<Position> getFood() {
-        return this.getPositions(field -> field.type().equals(FieldType.FOOD));
+        return this.getPositionsOfType(FieldType.FOOD);
     }
 
     /**
      * @return The free positions in this maze.
      */
     public List<Position> getFreePositions() {
-        return this.getPositions(field -> field.type().equals(FieldType.FREE));
+        return this.getPositionsOfType(FieldType.FREE);
     }
 
     /**
      * @return The height of this maze.
      */
     public int getHeight() {
-        return this.maze.length;
+        return this.height;
     }
 
     /**
@@ -109,11 +290,10 @@ public class Maze extends ChangeListenable {
      * @return The positions of the fields satisfying the predicate.
      */
     public List<Position> getPositions(final Predicate<Field> predicate) {
-        final List<Position> res = new LinkedList<Position>();
-        for (int y = 0; y < this.maze.length; y++) {
-            final Field[] mazeRow = this.maze[y];
-            for (int x = 0; x < mazeRow.length; x++) {
-                if (predicate.test(mazeRow[x])) {
+        final List<Position> res = new ArrayList<Position>();
+        for (int y = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++) {
+                if (predicate.test(this.toField(this.rows[y][x]))) {
                     res.add(new Position(x, y));
                 }
             }
@@ -121,6 +301,25 @@ public class Maze extends ChangeListenable {
         return res;
     }
 
+    /**
+     * Copies the cell codes of the specified row into the specified array.
+     * @param y The vertical position of the row.
+     * @param result An array of length at least getWidth() to store the cell codes in.
+     * @return The specified array.
+     */
+    public short[] getRow(final int y, final short[] result) {
+        System.arraycopy(this.rows[y], 0, result, 0, this.width);
+        return result;
+    }
+
+    /**
+     * @param snakeIndex The index of a snake stored in the cell codes of this maze.
+     * @return The color of the snake with the specified index.
+     */
+    public Color getSnakeColor(final int snakeIndex) {
+        return this.snakeColors[snakeIndex];
+    }
+
     /**
      * @param x The horizontal position.
      * @param y The vertical position.
@@ -137,6 +336,23 @@ public class Maze extends ChangeListenable {
         return res;
     }
 
+    /**
+     * Stores the surrounding positions of the specified one in the specified array in the same order as returned by
+     * getSurroundingPositions(x, y).
+     * @param pos A packed position (see Position.pack).
+     * @param result An array of length at least four to store the packed surrounding positions in.
+     */
+    public void getSurroundingPositions(final int pos, final int[] result) {
+        final int x = Position.unpackX(pos);
+        final int y = Position.unpackY(pos);
+        final int width = this.getWidth();
+        final int height = this.getHeight();
+        result[0] = Position.pack(x == 0 ? width - 1 : x - 1, y);
+        result[1] = Position.pack(x == width - 1 ? 0 : x + 1, y);
+        result[2] = Position.pack(x, y == 0 ? height - 1 : y - 1);
+        result[3] = Position.pack(x, y == height - 1 ? 0 : y + 1);
+    }
+
     /**
      * @param pos A position.
      * @return The surrounding positions of the specified one.
@@ -149,25 +365,162 @@ public class Maze extends ChangeListenable {
      * @return The width of this maze.
      */
     public int getWidth() {
-        return this.maze[0].length;
+        return this.width;
+    }
+
+    /**
+     * @param pos A packed position (see Position.pack).
+     * @return True if the field at the specified position is an obstacle.
+     */
+    public boolean isObstacle(final int pos) {
+        return this.typeAt(pos).isObstacle;
+    }
+
+    /**
+     * @param x The horizontal position.
+     * @param y The vertical position.
+     * @return True if the field at the specified position is an obstacle.
+     */
+    public boolean isObstacle(final int x, final int y) {
+        return this.typeAt(x, y).isObstacle;
     }
 
     /**
      * @return The number of fields with food in this maze.
      */
     public int numOfFood() {
-        return
-            this.getPositions(
-                field -> field.type().equals(FieldType.FOOD) || field.type().equals(FieldType.COLLISION_ON_FOOD)
-            ).size();
+        int res = 0;
+        for (final short[] row : this.rows) {
+            for (final short code : row) {
+                final FieldType type = Maze.typeOf(code);
+                if (type == FieldType.FOOD || type == FieldType.COLLISION_ON_FOOD) {
+                    res++;
+                }
+            }
+        }
+        return res;
     }
 
     /**
      * @param maze The maze.
      */
     public void setMaze(final Field[][] maze) {
-        this.maze = maze;
+        this.setCells(maze);
+        this.notifyChangeListeners();
+    }
+
+    /**
+     * @param maze The maze whose fields this maze should show.
+     */
+    public void setMaze(final Maze maze) {
+        this.setCells(maze);
         this.notifyChangeListeners();
     }
 
+    /**
+     * @param pos A packed position (see Position.pack).
+     * @return The index of the snake occupying the field at the specified position or NO_SNAKE.
+     */
+    public int snakeIndexAt(final int pos) {
+        return this.snakeIndexAt(Position.unpackX(pos), Position.unpackY(pos));
+    }
+
+    /**
+     * @param x The horizontal position.
+     * @param y The vertical position.
+     * @return The index of the snake occupying the field at the specified position or NO_SNAKE.
+     */
+    public int snakeIndexAt(final int x, final int y) {
+        return Maze.snakeIndexOf(this.rows[y][x]);
+    }
+
+    /**
+     * @param pos A packed position (see Position.pack).
+     * @return The type of the field at the specified position.
+     */
+    public FieldType typeAt(final int pos) {
+        return this.typeAt(Position.unpackX(pos), Position.unpackY(pos));
+    }
+
+    /**
+     * @param x The horizontal position.
+     * @param y The vertical position.
+     * @return The type of the field at the specified position.
+     */
+    public FieldType typeAt(final int x, final int y) {
+        return Maze.typeOf(this.rows[y][x]);
+    }
+
+    /**
+     * @param type A field type.
+     * @return The positions of all fields of the specified type.
+     */
+    private List<Position> getPositionsOfType(final FieldType type) {
+        final List<Position> res = new ArrayList<Position>();
+        for (int y = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++) {
+                if (Maze.typeOf(this.rows[y][x]) == type) {
+                    res.add(new Position(x, y));
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * @param maze The fields to store in this maze. Snake colors are assigned indices in the order of their first
+     *             occurrence.
+     */
+    private void setCells(final Field[][] maze) {
+        final int height = maze.length;
+        final int width = height == 0 ? 0 : maze[0].length;
+        final short[][] rows = new short[height][width];
+        final List<Color> colors = new ArrayList<Color>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final Field field = maze[y][x];
+                int snakeIndex = Maze.NO_SNAKE;
+                if (field.snakeColor().isPresent()) {
+                    final Color color = field.snakeColor().get();
+                    snakeIndex = colors.indexOf(color);
+                    if (snakeIndex < 0) {
+                        snakeIndex = colors.size();
+                        colors.add(color);
+                    }
+                }
+                rows[y][x] = Maze.encode(field.type(), snakeIndex);
+            }
+        }
+        this.width = width;
+        this.height = height;
+        this.rows = rows;
+        this.snakeColors = colors.toArray(new Color[colors.size()]);
+        this.changes = null;
+        this.changeCount = 0;
+    }
+
+    /**
+     * @param maze The maze whose fields this maze should show.
+     */
+    private void setCells(final Maze maze) {
+        this.width = maze.width;
+        this.height = maze.height;
+        this.rows = maze.rows;
+        this.snakeColors = maze.snakeColors;
+        this.changes = maze.changes;
+        this.changeCount = maze.changeCount;
+    }
+
+    /**
+     * @param code A cell code.
+     * @return The canonical field for the specified cell code.
+     */
+    private Field toField(final short code) {
+        final int snakeIndex = Maze.snakeIndexOf(code);
+        if (snakeIndex == Maze.NO_SNAKE) {
+            return Field.of(Maze.typeOf(code));
+        }
+        return Field.of(Maze.typeOf(code), this.snakeColors[snakeIndex]);
+    }
+
 }
@@ -0,0 +1,155 @@
+package model;
+
+import java.util.*;
+import java.util.stream.*;
+
+import util.*;
+
+/**
+ * Index of the positions occupied by snake parts. For each position, it stores how many parts are placed there and
+ * which snake they belong to such that lookups do not need to scan the bodies of all snakes. Positions are packed
+ * (see Position.pack) and snakes are identified by their index in the list of snakes.
+ * @author cryingshadow
+ */
+class Occupancy {
+
+    /**
+     * Owner value for positions occupied by parts of several snakes.
+     */
+    static final int SHARED = -1;
+
+    /**
+     * Owner value for positions not occupied by any snake.
+     */
+    static final int NONE = -2;
+
+    /**
+     * The number of snake parts at each occupied position.
+     */
+    private final IntHashMap counts;
+
+    /**
+     * The index of the snake occupying a position or SHARED if several snakes occupy it.
+     */
+    private final IntHashMap owners;
+
+    /**
+     * The number of parts of each snake at positions occupied by several snakes.
+     */
+    private final Map<Integer, IntHashMap> shares;
+
+    /**
+     * Creates an empty index.
+     */
+    Occupancy() {
+        this.counts = new IntHashMap();
+        this.owners = new IntHashMap();
+        this.shares = new HashMap<Integer, IntHashMap>();
+    }
+
+    /**
+     * @param pos A packed position.
+     * @param snake The index of the snake having a part placed at the specified position.
+     */
+    void add(final int pos, final int snake) {
+        final int owner = this.owners.get(pos, Occupancy.NONE);
+        final int count = this.counts.add(pos, 1);
+        if (owner == Occupancy.NONE) {
+            this.owners.put(pos, snake);
+        } else if (owner == Occupancy.SHARED) {
+            this.shares.get(pos).add(snake, 1);
+        } else if (owner != snake) {
+            final IntHashMap share = new IntHashMap();
+            share.put(owner, count - 1);
+            share.put(snake, 1);
+            this.shares.put(pos, share);
+            this.owners.put(pos, Occupancy.SHARED);
+        }
+    }
+
+    /**
+     * @param snake A snake whose parts are added to this index.
+     * @param index The index of the snake.
+     */
+    void addAll(final Snake snake, final int index) {
+        snake.forEachPlacedPosition(pos -> this.add(pos, index));
+    }
+
+    /**
+     * Removes all parts from this index.
+     */
+    void clear() {
+        this.counts.clear();
+        this.owners.clear();
+        this.shares.clear();
+    }
+
+    /**
+     * @param pos A packed position.
+     * @return The number of snake parts at the specified position.
+     */
+    int getCount(final int pos) {
+        return this.counts.get(pos, 0);
+    }
+
+    /**
+     * @param pos A packed position.
+     * @return The index of the snake occupying the specified position, SHARED if several snakes occupy it, or NONE if
+     *         no snake occupies it.
+     */
+    int getOwner(final int pos) {
+        return this.owners.get(pos, Occupancy.NONE);
+    }
+
+    /**
+     * @param pos A packed position.
+     * @return The indices of all snakes occupying the specified position.
+     */
+    Collection<Integer> getOwners(final int pos) {
+        final int owner = this.getOwner(pos);
+        switch (owner) {
+            case NONE:
+                return Collections.emptyList();
+            case SHARED:
+                return IntStream.of(this.shares.get(pos).keys()).boxed().collect(Collectors.toList());
+            default:
+                return Collections.singletonList(owner);
+        }
+    }
+
+    /**
+     * @param pos A packed position.
+     * @param snake The index of the snake whose part is removed from the specified position.
+     */
+    void remove(final int pos, final int snake) {
+        final int count = this.counts.get(pos, 0);
+        if (count == 0) {
+            return;
+        }
+        if (count == 1) {
+            this.counts.remove(pos);
+            this.owners.remove(pos);
+            return;
+        }
+        this.counts.put(pos, count - 1);
+        if (this.owners.get(pos, Occupancy.NONE) == Occupancy.SHARED) {
+            final IntHashMap share = this.shares.get(pos);
+            if (share.add(snake, -1) == 0) {
+                share.remove(snake);
+            }
+            if (share.size() == 1) {
+                this.owners.put(pos, share.keys()[0]);
+                this.shares.remove(pos);
+            }
+        }
+    }
+
+    /**
+     * @param snake A snake whose parts are removed from this index.
+     * @param index The index of the snake.
+     */
+    void removeAll(final Snake snake, final int index) {
+        snake.forEachPlacedPosition(pos -> this.remove(pos, index));
+    }
+
+}
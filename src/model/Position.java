@@ -6,6 +6,52 @@ package model;
  */
 public class Position {
 
+    /**
+     * The number of bits used for each coordinate of a packed position. Must be large enough to hold all coordinates
+     * of a maze with Settings.MAXIMUM_DIMENSION fields plus the arena border.
+     */
+    public static final int COORDINATE_BITS = 10;
+
+    /**
+     * Mask extracting the coordinate on the x-axis from a packed position.
+     */
+    private static final int X_MASK = (1 << Position.COORDINATE_BITS) - 1;
+
+    /**
+     * Packs the specified coordinates into a single int. The coordinates must be non-negative and smaller than
+     * 2^COORDINATE_BITS. Packed positions are ordered row by row, i.e., by y first and by x second.
+     * @param x The position on the x-axis.
+     * @param y The position on the y-axis.
+     * @return The packed position.
+     */
+    public static int pack(final int x, final int y) {
+        return (y << Position.COORDINATE_BITS) | x;
+    }
+
+    /**
+     * @param packed A packed position.
+     * @return The unpacked position.
+     */
+    public static Position unpack(final int packed) {
+        return new Position(Position.unpackX(packed), Position.unpackY(packed));
+    }
+
+    /**
+     * @param packed A packed position.
+     * @return The position on the x-axis.
+     */
+    public static int unpackX(final int packed) {
+        return packed & Position.X_MASK;
+    }
+
+    /**
+     * @param packed A packed position.
+     * @return The position on the y-axis.
+     */
+    public static int unpackY(final int packed) {
+        return packed >>> Position.COORDINATE_BITS;
+    }
+
     /**
      * The position on the x-axis.
      */
@@ -68,7 +114,14 @@ public class Position {
 
     @Override
     public int hashCode() {
-        return 3 * this.x + 5 * this.y;
+        return Position.pack(this.x, this.y);
+    }
+
+    /**
+     * @return This position packed into a single int.
+     */
+    public int pack() {
+        return Position.pack(this.x, this.y);
     }
 
     @Override
@@ -22,7 +22,7 @@ public class Settings extends ChangeListenable {
     /**
      * The minimum field size in pixels.
      */
-    public static final int MIN_FIELD_SIZE = 10;
+    public static final int MIN_FIELD_SIZE = 1;
 
     /**
      * The minimum number of fields in a dimension.
@@ -39,6 +39,27 @@ public class Settings extends ChangeListenable {
      */
     private boolean arena;
 
+    /**
+     * The clock measuring the time a snake control uses for a decision.
+     */
+    private BudgetClock budgetClock;
+
+    /**
+     * The time in milliseconds a snake control may use for a decision (as measured by the budget clock).
+     */
+    private int decisionBudget;
+
+    /**
+     * The wall-clock time in milliseconds after publishing a turn at which all decisions not available yet count as
+     * taking too long, regardless of the budget clock.
+     */
+    private int decisionCeiling;
+
+    /**
+     * The kind of threads the snake controls compute their decisions on.
+     */
+    private ExecutionMode executionMode;
+
     /**
      * How many pieces of food will be in the maze per participating snake?
      */
@@ -59,11 +80,22 @@ public class Settings extends ChangeListenable {
      */
     private Optional<Integer> maxHunger;
 
+    /**
+     * The number of decisions taking too long after which a snake dies. Snakes never die for being slow if empty.
+     */
+    private Optional<Integer> maxStrikes;
+
     /**
      * Do snakes respawn after they die?
      */
     private boolean respawning;
 
+    /**
+     * The seed for all random decisions of the competition. A fresh seed is chosen for each competition control if
+     * empty.
+     */
+    private Optional<Long> seed;
+
     /**
      * The directory containing the source files for the snake controls.
      */
@@ -104,6 +136,66 @@ public class Settings extends ChangeListenable {
         this.sourceDirectory = Optional.empty();
         this.speed = Speed.NORMAL;
         this.respawning = false;
+        this.seed = Optional.empty();
+        this.executionMode = ExecutionMode.PLATFORM_THREADS;
+        this.budgetClock = BudgetClock.CPU_TIME;
+        this.decisionBudget = 200;
+        this.decisionCeiling = 250;
+        this.maxStrikes = Optional.of(3);
+    }
+
+    /**
+     * Copies the specified settings (without their change listeners).
+     * @param settings The settings to copy.
+     */
+    public Settings(final Settings settings) {
+        this.zoom = settings.zoom;
+        this.foodPerSnake = settings.foodPerSnake;
+        this.arena = settings.arena;
+        this.initialSnakeLength = settings.initialSnakeLength;
+        this.maxHunger = settings.maxHunger;
+        this.height = settings.height;
+        this.width = settings.width;
+        this.walls = settings.walls;
+        this.sourceDirectory = settings.sourceDirectory;
+        this.speed = settings.speed;
+        this.respawning = settings.respawning;
+        this.seed = settings.seed;
+        this.executionMode = settings.executionMode;
+        this.budgetClock = settings.budgetClock;
+        this.decisionBudget = settings.decisionBudget;
+        this.decisionCeiling = settings.decisionCeiling;
+        this.maxStrikes = settings.maxStrikes;
+    }
+
+    /**
+     * @return The clock measuring the time a snake control uses for a decision. Always WALL_TIME for the execution
+     *         mode PROCESSES since the engine thread waiting for a process hardly uses any CPU time itself.
+     */
+    public BudgetClock getBudgetClock() {
+        return this.executionMode == ExecutionMode.PROCESSES ? BudgetClock.WALL_TIME : this.budgetClock;
+    }
+
+    /**
+     * @return The time in milliseconds a snake control may use for a decision (as measured by the budget clock).
+     */
+    public int getDecisionBudget() {
+        return this.decisionBudget;
+    }
+
+    /**
+     * @return The wall-clock time in milliseconds after publishing a turn at which all decisions not available yet
+     *         count as taking too long, regardless of the budget clock.
+     */
+    public int getDecisionCeiling() {
+        return this.decisionCeiling;
+    }
+
+    /**
+     * @return The kind of threads the snake controls compute their decisions on.
+     */
+    public ExecutionMode getExecutionMode() {
+        return this.executionMode;
     }
 
     /**
@@ -134,6 +226,22 @@ public class Settings extends ChangeListenable {
         return this.maxHunger;
     }
 
+    /**
+     * @return The number of decisions taking too long after which a snake dies. Snakes never die for being slow if
+     *         empty.
+     */
+    public Optional<Integer> getMaxStrikes() {
+        return this.maxStrikes;
+    }
+
+    /**
+     * @return The seed for all random decisions of the competition. A fresh seed is chosen for each competition
+     *         control if empty.
+     */
+    public Optional<Long> getSeed() {
+        return this.seed;
+    }
+
     /**
      * @return The directory containing the source files for the snake controls.
      */
@@ -191,6 +299,46 @@ public class Settings extends ChangeListenable {
         this.notifyChangeListeners();
     }
 
+    /**
+     * @param budgetClock The clock measuring the time a snake control uses for a decision.
+     */
+    public void setBudgetClock(final BudgetClock budgetClock) {
+        this.budgetClock = budgetClock;
+        this.notifyChangeListeners();
+    }
+
+    /**
+     * @param decisionBudget The time in milliseconds a snake control may use for a decision (as measured by the
+     *                       budget clock).
+     */
+    public void setDecisionBudget(final int decisionBudget) {
+        if (decisionBudget < 1) {
+            throw new IllegalArgumentException("Decision budget must be positive!");
+        }
+        this.decisionBudget = decisionBudget;
+        this.notifyChangeListeners();
+    }
+
+    /**
+     * @param decisionCeiling The wall-clock time in milliseconds after publishing a turn at which all decisions not
+     *                        available yet count as taking too long, regardless of the budget clock.
+     */
+    public void setDecisionCeiling(final int decisionCeiling) {
+        if (decisionCeiling < 1) {
+            throw new IllegalArgumentException("Decision ceiling must be positive!");
+        }
+        this.decisionCeiling = decisionCeiling;
+        this.notifyChangeListeners();
+    }
+
+    /**
+     * @param executionMode The kind of threads the snake controls compute their decisions on.
+     */
+    public void setExecutionMode(final ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+        this.notifyChangeListeners();
+    }
+
     /**
      * @param foodPerSnake How many pieces of food will be in the maze per participating snake?
      */
@@ -223,6 +371,18 @@ public class Settings extends ChangeListenable {
         this.notifyChangeListeners();
     }
 
+    /**
+     * @param maxStrikes The number of decisions taking too long after which a snake dies. Snakes never die for being
+     *                   slow if empty.
+     */
+    public void setMaxStrikes(final Optional<Integer> maxStrikes) {
+        if (maxStrikes.isPresent() && maxStrikes.get() < 1) {
+            throw new IllegalArgumentException("Maximum strikes must be positive or empty!");
+        }
+        this.maxStrikes = maxStrikes;
+        this.notifyChangeListeners();
+    }
+
     /**
      * @param respawning Do snakes respawn after they die?
      */
@@ -231,6 +391,15 @@ public class Settings extends ChangeListenable {
         this.notifyChangeListeners();
     }
 
+    /**
+     * @param seed The seed for all random decisions of the competition. A fresh seed is chosen for each competition
+     *             control if empty.
+     */
+    public void setSeed(final Optional<Long> seed) {
+        this.seed = seed;
+        this.notifyChangeListeners();
+    }
+
     /**
      * @param sourceDirectory The directory containing the source files for the snake controls.
      */
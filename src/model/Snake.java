@@ -2,7 +2,7 @@ package model;
 
 import java.awt.*;
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.function.*;
 
 import control.*;
 import util.*;
@@ -13,20 +13,6 @@ import util.*;
  */
 public class Snake {
 
-    /**
-     * @param pos The initial position of the head.
-     * @param initialLength The initial length.
-     * @return The positions of the snake.
-     */
-    private static LinkedList<Position> createInitialPositions(final Position pos, final int initialLength) {
-        final LinkedList<Position> poss = new LinkedList<Position>();
-        for (int i = 1; i < initialLength; i++) {
-            poss.offer(null);
-        }
-        poss.offer(pos);
-        return poss;
-    }
-
     /**
      * Is the snake still alive?
      */
@@ -42,6 +28,11 @@ public class Snake {
      */
     private final SnakeControl control;
 
+    /**
+     * Statistics about the decisions of this snake's control. Shared by all versions of this snake.
+     */
+    private final DecisionStats decisionStats;
+
     /**
      * The snake's current hunger.
      */
@@ -52,6 +43,11 @@ public class Snake {
      */
     private final int longThinker;
 
+    /**
+     * Identifies the body this snake has been moving since its creation, clearing, or last respawn.
+     */
+    private final Object lineage;
+
     /**
      * The maximum hunger the snake can survive.
      */
@@ -62,10 +58,15 @@ public class Snake {
      */
     private final int maxLength;
 
+    /**
+     * The number of moves since the creation, clearing, or last respawn of this snake.
+     */
+    private final int moves;
+
     /**
      * The positions of the snake. The last one is the position of the snake's head.
      */
-    private final LinkedList<Position> snake;
+    private final SnakeBody snake;
 
     /**
      * @param initialPosition The initial position of the snake's head.
@@ -88,50 +89,98 @@ public class Snake {
             throw new IllegalArgumentException("Maximum hunger must be positive or null!");
         }
         this.control = control;
+        this.decisionStats = new DecisionStats();
         this.color = color;
         this.alive = true;
         this.hunger = 0;
         this.maxHunger = maxHunger;
         this.longThinker = 0;
-        this.snake = Snake.createInitialPositions(initialPosition, initialLength);
+        this.snake = SnakeBody.create(initialPosition, initialLength);
         this.maxLength = initialLength;
+        this.lineage = new Object();
+        this.moves = 0;
     }
 
     /**
      * @param alive Is the snake still alive?
      * @param color The snake's color.
      * @param control The control for this snake.
+     * @param decisionStats Statistics about the decisions of this snake's control.
      * @param hunger The snake's current hunger.
      * @param maxHunger The maximum hunger the snake can survive.
      * @param longThinker Did the snake control take too long last time to compute the next direction?
      * @param maxLength The maximum length this snake ever reached so far.
      * @param snake The positions of the snake. The last one is the position of the snake's head.
+     * @param lineage Identifies the body this snake has been moving since its creation, clearing, or last respawn.
+     * @param moves The number of moves since the creation, clearing, or last respawn of this snake.
      */
     private Snake(
         final boolean alive,
         final Color color,
         final SnakeControl control,
+        final DecisionStats decisionStats,
         final int hunger,
         final Optional<Integer> maxHunger,
         final int longThinker,
         final int maxLength,
-        final LinkedList<Position> snake
+        final SnakeBody snake,
+        final Object lineage,
+        final int moves
     ) {
         this.alive = alive;
         this.color = color;
         this.control = control;
+        this.decisionStats = decisionStats;
         this.hunger = hunger;
         this.maxHunger = maxHunger;
         this.longThinker = longThinker;
         this.maxLength = maxLength;
         this.snake = snake;
+        this.lineage = lineage;
+        this.moves = moves;
     }
 
     /**
      * @return This snake being alive but without positions or hunger.
      */
     public Snake clear() {
-        return new Snake(true, this.color, this.control, 0, this.maxHunger, 0, 0, new LinkedList<Position>());
+        return new Snake(
+            true,
+            this.color,
+            this.control,
+            this.decisionStats,
+            0,
+            this.maxHunger,
+            0,
+            0,
+            SnakeBody.EMPTY,
+            new Object(),
+            0
+        );
+    }
+
+    /**
+     * Lets this snake's control compute the next direction for the current head position. The latency of the
+     * computation is recorded in this snake's decision statistics.
+     * @param maze The maze.
+     * @return The direction computed by this snake's control.
+     */
+    public Direction computeNextDirection(final Maze maze) {
+        final Position curPos = this.getHeadPosition();
+        final long start = System.nanoTime();
+        try {
+            return this.control.nextDirection(maze, curPos.getX(), curPos.getY());
+        } finally {
+            this.decisionStats.recordDecision(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @param action The action to perform on the packed positions of all parts of this snake placed in the maze from
+     *               the tail to the head.
+     */
+    public void forEachPlacedPosition(final IntConsumer action) {
+        this.snake.forEachPlaced(action);
     }
 
     public Color getColor() {
@@ -139,11 +188,19 @@ public class Snake {
     }
 
     public int getCurrentLength() {
-        return this.snake.size();
+        return this.snake.length();
     }
 
     public Position getHeadPosition() {
-        return this.snake.getLast();
+        return this.snake.head();
+    }
+
+    /**
+     * @return Statistics about the decisions of this snake's control. They are updated by each computation of the next
+     *         direction.
+     */
+    public DecisionStats getDecisionStats() {
+        return this.decisionStats;
     }
 
     public int getMaxLength() {
@@ -154,17 +211,6 @@ public class Snake {
         return this.control.getName();
     }
 
-    public Pair<Direction, Boolean> getNextDirection(final Maze maze, final ExecutorService executor) {
-        final Position curPos = this.getHeadPosition();
-        final Future<Direction> nextDirection =
-            executor.submit(() -> Snake.this.control.nextDirection(maze, curPos.getX(), curPos.getY()));
-        try {
-            return new Pair<Direction, Boolean>(nextDirection.get(200, TimeUnit.MILLISECONDS), false);
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            return new Pair<Direction, Boolean>(Direction.values()[(int)(System.currentTimeMillis() % 4)], true);
-        }
-    }
-
     /**
      * @param direction The direction in which the snake moves.
      * @return The next position the snake would reach. This position might have a coordinate that is out of bounds and
@@ -187,10 +233,11 @@ public class Snake {
     }
 
     /**
-     * @return All positions occupied by this snake.
+     * @return A read-only view of all positions occupied by this snake from the tail to the head. Parts which are not
+     *         placed in the maze yet are represented by null.
      */
     public Collection<Position> getPositions() {
-        return this.snake;
+        return this.snake.positions();
     }
 
     /**
@@ -201,20 +248,29 @@ public class Snake {
      * @return The moved and grown snake.
      */
     public Snake growingMove(final Pair<Position, Boolean> nextPos) {
-        final LinkedList<Position> newSnake = new LinkedList<Position>(this.snake);
-        newSnake.offer(nextPos.getKey());
+        final SnakeBody newSnake = this.snake.grow(nextPos.getKey());
         return new Snake(
             this.alive,
             this.color,
             this.control,
+            this.decisionStats,
             0,
             this.maxHunger,
             nextPos.getValue() ? this.longThinker + 1 : this.longThinker,
-            Math.max(this.maxLength, newSnake.size()),
-            newSnake
+            Math.max(this.maxLength, newSnake.length()),
+            newSnake,
+            this.lineage,
+            this.moves + 1
         );
     }
 
+    /**
+     * @return The position of the last part of this snake's tail if it is already placed in the maze.
+     */
+    public Optional<Position> getTailPosition() {
+        return this.snake.tail();
+    }
+
     /**
      * @return Is the snake still alive?
      */
@@ -222,6 +278,19 @@ public class Snake {
         return this.alive;
     }
 
+    /**
+     * @param previous Some snake.
+     * @return True if this snake is alive and results from the specified alive snake by exactly one normal or growing
+     *         move.
+     */
+    public boolean isMoveOf(final Snake previous) {
+        return
+            this.alive
+            && previous.alive
+            && this.lineage == previous.lineage
+            && this.moves == previous.moves + 1;
+    }
+
     /**
      * @return True if this snake's hunger exceeds the maximum hunger.
      */
@@ -230,10 +299,12 @@ public class Snake {
     }
 
     /**
-     * @return True if this snake took too long to compute the next direction more than twice.
+     * @param maxStrikes The number of decisions taking too long after which a snake dies. Snakes never die for being
+     *                   slow if empty.
+     * @return True if this snake took too long to compute the next direction at least the specified number of times.
      */
-    public boolean isTooSlow() {
-        return this.longThinker > 2;
+    public boolean isTooSlow(final Optional<Integer> maxStrikes) {
+        return maxStrikes.isPresent() && this.longThinker >= maxStrikes.get();
     }
 
     /**
@@ -244,11 +315,14 @@ public class Snake {
             false,
             this.color,
             this.control,
+            this.decisionStats,
             this.hunger,
             this.maxHunger,
             this.longThinker,
             this.maxLength,
-            this.snake
+            this.snake,
+            this.lineage,
+            this.moves
         );
     }
 
@@ -259,18 +333,19 @@ public class Snake {
      * @return The moved snake.
      */
     public Snake normalMove(final Pair<Position, Boolean> nextPos) {
-        final LinkedList<Position> newSnake = new LinkedList<Position>(this.snake);
-        newSnake.poll();
-        newSnake.offer(nextPos.getKey());
+        final SnakeBody newSnake = this.snake.move(nextPos.getKey());
         return new Snake(
             this.alive,
             this.color,
             this.control,
+            this.decisionStats,
             this.hunger + 1,
             this.maxHunger,
             nextPos.getValue() ? this.longThinker + 1 : this.longThinker,
             this.maxLength,
-            newSnake
+            newSnake,
+            this.lineage,
+            this.moves + 1
         );
     }
 
@@ -284,11 +359,14 @@ public class Snake {
             true,
             this.color,
             this.control,
+            this.decisionStats,
             0,
             this.maxHunger,
             0,
             Math.max(this.maxLength, initialLength),
-            Snake.createInitialPositions(pos, initialLength)
+            SnakeBody.create(pos, initialLength),
+            new Object(),
+            0
         );
     }
 
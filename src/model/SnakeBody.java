@@ -0,0 +1,252 @@
+package model;
+
+import java.lang.invoke.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Immutable body of a snake. The placed parts form a chain of nodes from the tail to the head which is shared between
+ * all versions of the body. Moving the head appends a node to the chain (if the chain has not been extended from this
+ * version before) and moving the tail just starts the chain one node later, so both take constant time. Parts that
+ * are not placed in the maze yet (after creation or respawn) are only counted.
+ * @author cryingshadow
+ */
+final class SnakeBody {
+
+    /**
+     * The empty body.
+     */
+    static final SnakeBody EMPTY = new SnakeBody(null, null, 0, 0);
+
+    /**
+     * A placed part of a snake's body.
+     */
+    private static final class Node {
+
+        /**
+         * Handle for compare-and-set on the next field.
+         */
+        private static final VarHandle NEXT;
+
+        static {
+            try {
+                NEXT = MethodHandles.lookup().findVarHandle(Node.class, "next", Node.class);
+            } catch (final ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        /**
+         * The packed position of this part.
+         */
+        private final int packed;
+
+        /**
+         * The position of this part.
+         */
+        private final Position position;
+
+        /**
+         * The next part towards the head. Set at most once (by compare-and-set) such that reading it needs no lock.
+         */
+        private volatile Node next;
+
+        /**
+         * @param position The position of this part.
+         */
+        private Node(final Position position) {
+            this.position = position;
+            this.packed = position.pack();
+            this.next = null;
+        }
+
+        /**
+         * @param successor The node to link as next part towards the head.
+         * @return True if the node has been linked. False if this node has already been extended before.
+         */
+        private boolean link(final Node successor) {
+            return Node.NEXT.compareAndSet(this, null, successor);
+        }
+
+        /**
+         * @return The next part towards the head.
+         */
+        private Node next() {
+            return this.next;
+        }
+
+    }
+
+    /**
+     * @param pos The position of the head.
+     * @param length The length of the body.
+     * @return A body consisting of the specified head and parts not yet placed.
+     */
+    static SnakeBody create(final Position pos, final int length) {
+        final Node node = new Node(pos);
+        return new SnakeBody(node, node, length, length - 1);
+    }
+
+    /**
+     * The head of this body.
+     */
+    private final Node head;
+
+    /**
+     * The number of parts of this body.
+     */
+    private final int length;
+
+    /**
+     * The number of parts not yet placed at the end of the tail.
+     */
+    private final int pending;
+
+    /**
+     * The last placed part of the tail.
+     */
+    private final Node tail;
+
+    /**
+     * @param tail The last placed part of the tail.
+     * @param head The head.
+     * @param length The number of parts.
+     * @param pending The number of parts not yet placed at the end of the tail.
+     */
+    private SnakeBody(final Node tail, final Node head, final int length, final int pending) {
+        this.tail = tail;
+        this.head = head;
+        this.length = length;
+        this.pending = pending;
+    }
+
+    /**
+     * @param action The action to perform on the packed positions of all placed parts from the tail to the head.
+     */
+    void forEachPlaced(final IntConsumer action) {
+        Node node = this.tail;
+        for (int i = this.pending; i < this.length; i++) {
+            action.accept(node.packed);
+            node = node.next();
+        }
+    }
+
+    /**
+     * @param pos The next position of the head.
+     * @return This body grown by one part at the head.
+     */
+    SnakeBody grow(final Position pos) {
+        if (this.head == null) {
+            return SnakeBody.create(pos, 1);
+        }
+        final Node node = new Node(pos);
+        if (this.head.link(node)) {
+            return new SnakeBody(this.tail, node, this.length + 1, this.pending);
+        }
+        return this.copy().grow(pos);
+    }
+
+    /**
+     * @return The position of the head.
+     * @throws NoSuchElementException If the body is empty.
+     */
+    Position head() {
+        if (this.head == null) {
+            throw new NoSuchElementException("The snake has no body!");
+        }
+        return this.head.position;
+    }
+
+    /**
+     * @return The number of parts.
+     */
+    int length() {
+        return this.length;
+    }
+
+    /**
+     * @param pos The next position of the head.
+     * @return This body moved by one part towards the specified position.
+     */
+    SnakeBody move(final Position pos) {
+        if (this.length == 0) {
+            return SnakeBody.create(pos, 1);
+        }
+        final SnakeBody grown = this.grow(pos);
+        if (grown.pending > 0) {
+            return new SnakeBody(grown.tail, grown.head, this.length, grown.pending - 1);
+        }
+        return new SnakeBody(grown.tail.next(), grown.head, this.length, 0);
+    }
+
+    /**
+     * @return A read-only view of the positions of all parts from the tail to the head. Parts not yet placed are
+     *         represented by null.
+     */
+    Collection<Position> positions() {
+        return new AbstractCollection<Position>() {
+
+            @Override
+            public Iterator<Position> iterator() {
+                return new Iterator<Position>() {
+
+                    private int index = 0;
+
+                    private Node node = SnakeBody.this.tail;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.index < SnakeBody.this.length;
+                    }
+
+                    @Override
+                    public Position next() {
+                        if (!this.hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        if (this.index++ < SnakeBody.this.pending) {
+                            return null;
+                        }
+                        final Position res = this.node.position;
+                        this.node = this.node.next();
+                        return res;
+                    }
+
+                };
+            }
+
+            @Override
+            public int size() {
+                return SnakeBody.this.length;
+            }
+
+        };
+    }
+
+    /**
+     * @return The position of the last part of the tail if it is already placed.
+     */
+    Optional<Position> tail() {
+        if (this.pending > 0 || this.tail == null) {
+            return Optional.empty();
+        }
+        return Optional.of(this.tail.position);
+    }
+
+    /**
+     * @return A body with the same parts not sharing its chain with other versions.
+     */
+    private SnakeBody copy() {
+        final Node first = new Node(this.tail.position);
+        Node last = first;
+        Node node = this.tail;
+        for (int i = this.pending + 1; i < this.length; i++) {
+            node = node.next();
+            final Node copy = new Node(node.position);
+            last.link(copy);
+            last = copy;
+        }
+        return new SnakeBody(first, last, this.length, this.pending);
+    }
+
+}
@@ -9,6 +9,11 @@ import java.util.stream.*;
  */
 public class Snakes extends ChangeListenable {
 
+    /**
+     * Index of the positions occupied by alive snakes.
+     */
+    private final Occupancy occupancy;
+
     /**
      * The snakes.
      */
@@ -19,6 +24,7 @@ public class Snakes extends ChangeListenable {
      */
     public Snakes() {
         this.snakes = Collections.emptyList();
+        this.occupancy = new Occupancy();
     }
 
     /**
@@ -26,6 +32,7 @@ public class Snakes extends ChangeListenable {
      */
     public void clear() {
         this.snakes = Collections.emptyList();
+        this.occupancy.clear();
         this.notifyChangeListeners();
     }
 
@@ -41,7 +48,7 @@ public class Snakes extends ChangeListenable {
      * @return All alive snakes at the specified position.
      */
     public List<Snake> getAllAliveSnakesAt(final Position pos) {
-        return this.snakesAt(pos).collect(Collectors.toList());
+        return this.occupancy.getOwners(pos.pack()).stream().map(this.snakes::get).collect(Collectors.toList());
     }
 
     /**
@@ -52,24 +59,68 @@ public class Snakes extends ChangeListenable {
     }
 
     /**
-     * @param pos A position.
+     * @param pos A packed position.
      * @return The snake at the specified position if there is exactly one such snake being alive. Empty optional
      *         otherwise.
      */
-    public Optional<Snake> getUniqueSnakeAt(final Position pos) {
-        final List<Snake> found = this.getAllAliveSnakesAt(pos);
-        if (found.size() == 1) {
-            return Optional.of(found.get(0));
+    public Optional<Snake> getUniqueSnakeAt(final int pos) {
+        final int owner = this.getUniqueSnakeIndexAt(pos);
+        if (owner >= 0) {
+            return Optional.of(this.snakes.get(owner));
         }
         return Optional.empty();
     }
 
+    /**
+     * @param pos A position.
+     * @return The snake at the specified position if there is exactly one such snake being alive. Empty optional
+     *         otherwise.
+     */
+    public Optional<Snake> getUniqueSnakeAt(final Position pos) {
+        return this.getUniqueSnakeAt(pos.pack());
+    }
+
+    /**
+     * @param pos A packed position.
+     * @return The index of the snake at the specified position if there is exactly one such snake being alive. A
+     *         negative value otherwise.
+     */
+    public int getUniqueSnakeIndexAt(final int pos) {
+        return this.occupancy.getOwner(pos);
+    }
+
+    /**
+     * @param pos A packed position.
+     * @return True if exactly one snake being alive is at the specified position and this snake collides with itself
+     *         there.
+     */
+    public boolean isSelfCollisionAt(final int pos) {
+        return this.occupancy.getOwner(pos) >= 0 && this.occupancy.getCount(pos) > 1;
+    }
+
+    /**
+     * @param pos A position.
+     * @return True if exactly one snake being alive is at the specified position and this snake collides with itself
+     *         there.
+     */
+    public boolean isSelfCollisionAt(final Position pos) {
+        return this.isSelfCollisionAt(pos.pack());
+    }
+
+    /**
+     * @param pos A packed position.
+     * @return True if at least one snake is alive at the specified position.
+     */
+    public boolean isSnake(final int pos) {
+        return this.occupancy.getCount(pos) > 0;
+    }
+
     /**
      * @param pos A position.
      * @return True if at least one snake is alive at the specified position.
      */
     public boolean isSnake(final Position pos) {
-        return this.snakesAt(pos).findFirst().isPresent();
+        return this.isSnake(pos.pack());
     }
 
     /**
@@ -77,6 +128,7 @@ public class Snakes extends ChangeListenable {
      */
     public void removePositions() {
         this.snakes = this.snakes.stream().map(Snake::clear).collect(Collectors.toList());
+        this.occupancy.clear();
         this.notifyChangeListeners();
     }
 
@@ -84,6 +136,18 @@ public class Snakes extends ChangeListenable {
      * @param snakes The snakes.
      */
     public void setSnakes(final List<Snake> snakes) {
+        if (this.snakes.size() == snakes.size()) {
+            for (int i = 0; i < snakes.size(); i++) {
+                this.updateOccupancy(this.snakes.get(i), snakes.get(i), i);
+            }
+        } else {
+            this.occupancy.clear();
+            for (int i = 0; i < snakes.size(); i++) {
+                if (snakes.get(i).isAlive()) {
+                    this.occupancy.addAll(snakes.get(i), i);
+                }
+            }
+        }
         this.snakes = snakes;
         this.notifyChangeListeners();
     }
@@ -96,11 +160,28 @@ public class Snakes extends ChangeListenable {
     }
 
     /**
-     * @param pos A position.
-     * @return A stream of alive snakes at the specified position.
+     * Updates the occupancy index when replacing the specified snake by its specified successor.
+     * @param before A snake.
+     * @param after The snake replacing the former one.
+     * @param index The index of the snake.
      */
-    private Stream<Snake> snakesAt(final Position pos) {
-        return this.getAliveSnakesAsStream().filter(snake -> snake.getPositions().contains(pos));
+    private void updateOccupancy(final Snake before, final Snake after, final int index) {
+        if (before == after) {
+            return;
+        }
+        if (after.isMoveOf(before)) {
+            if (after.getCurrentLength() == before.getCurrentLength()) {
+                before.getTailPosition().ifPresent(pos -> this.occupancy.remove(pos.pack(), index));
+            }
+            this.occupancy.add(after.getHeadPosition().pack(), index);
+            return;
+        }
+        if (before.isAlive()) {
+            this.occupancy.removeAll(before, index);
+        }
+        if (after.isAlive()) {
+            this.occupancy.addAll(after, index);
+        }
     }
 
 }
@@ -0,0 +1,21 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Immutable state of a competition after a turn for rendering it independently of the simulation.
+ * @param maze A private copy of the maze. It must not be modified.
+ * @param snakes The snakes (which are immutable themselves).
+ * @author cryingshadow
+ */
+public record Snapshot(Maze maze, List<Snake> snakes) {
+
+    /**
+     * @param maze A private copy of the maze. It must not be modified.
+     * @param snakes The snakes. The list is copied.
+     */
+    public Snapshot {
+        snakes = List.copyOf(snakes);
+    }
+
+}
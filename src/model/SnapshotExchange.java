@@ -0,0 +1,55 @@
+package model;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Lock-free single-slot handoff of snapshots from the simulation to the rendering. The simulation publishes a snapshot
+ * per turn without ever waiting, and the rendering takes the latest snapshot at its own rate. Snapshots published
+ * while the slot is still occupied replace the previous one, which is thereby dropped.
+ * @author cryingshadow
+ */
+public class SnapshotExchange {
+
+    /**
+     * The number of snapshots replaced before being taken.
+     */
+    private final AtomicLong dropped;
+
+    /**
+     * The latest snapshot not taken yet or null.
+     */
+    private final AtomicReference<Snapshot> slot;
+
+    /**
+     * Creates an empty exchange.
+     */
+    public SnapshotExchange() {
+        this.dropped = new AtomicLong();
+        this.slot = new AtomicReference<Snapshot>();
+    }
+
+    /**
+     * @return The number of snapshots replaced before being taken.
+     */
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * @param snapshot The latest snapshot replacing the snapshot not taken yet (if any).
+     */
+    public void publish(final Snapshot snapshot) {
+        if (this.slot.getAndSet(snapshot) != null) {
+            this.dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return The latest snapshot if one has been published since the last call to this method.
+     */
+    public Optional<Snapshot> take() {
+        return Optional.ofNullable(this.slot.getAndSet(null));
+    }
+
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.concurrent.*;
+
 /**
  * Execution speed of the competition.
  * @author cryingshadow
@@ -11,6 +13,16 @@ public enum Speed {
      */
     FAST(200),
 
+    /**
+     * Fifty turns per second.
+     */
+    HYPER(20),
+
+    /**
+     * Two hundred turns per second.
+     */
+    LUDICROUS(5),
+
     /**
      * Execution by manual clicks.
      */
@@ -34,25 +46,36 @@ public enum Speed {
     /**
      * One turn per second.
      */
-    SLOWEST(1000);
+    SLOWEST(1000),
+
+    /**
+     * As many turns per second as possible.
+     */
+    UNLIMITED(0),
+
+    /**
+     * One thousand turns per second.
+     */
+    WARP(1);
 
     /**
-     * The time to sleep between turns in milliseconds.
+     * The targeted time between the starts of two consecutive turns in milliseconds.
      */
-    private final long sleepTime;
+    private final long period;
 
     /**
-     * @param sleepTime The time to sleep between turns in milliseconds.
+     * @param period The targeted time between the starts of two consecutive turns in milliseconds.
      */
-    private Speed(final long sleepTime) {
-        this.sleepTime = sleepTime;
+    private Speed(final long period) {
+        this.period = period;
     }
 
     /**
-     * @return The time to sleep between turns in milliseconds.
+     * @return The targeted time between the starts of two consecutive turns in nanoseconds. 0 if turns should follow
+     *         each other immediately and negative for manual execution.
      */
-    public long getSleepTime() {
-        return this.sleepTime;
+    public long getPeriod() {
+        return this.period < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(this.period);
     }
 
 }
@@ -0,0 +1,50 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Fine-grained change caused by a turn. All events of a turn are published at once after the turn (see TurnEventBus).
+ * @author cryingshadow
+ */
+public sealed interface TurnEvent {
+
+    /**
+     * A snake ate food.
+     * @param snakeIndex The index of the snake.
+     * @param position The position of the eaten food.
+     * @author cryingshadow
+     */
+    record FoodEaten(int snakeIndex, Position position) implements TurnEvent {}
+
+    /**
+     * New food appeared.
+     * @param position The position of the new food.
+     * @author cryingshadow
+     */
+    record FoodSpawned(Position position) implements TurnEvent {}
+
+    /**
+     * A snake died (by a collision, starvation, or taking too long too often).
+     * @param snakeIndex The index of the snake.
+     * @author cryingshadow
+     */
+    record SnakeDied(int snakeIndex) implements TurnEvent {}
+
+    /**
+     * A snake moved.
+     * @param snakeIndex The index of the snake.
+     * @param head The new position of the snake's head.
+     * @param vacated The position left by the snake's tail or empty if the snake grew instead.
+     * @author cryingshadow
+     */
+    record SnakeMoved(int snakeIndex, Position head, Optional<Position> vacated) implements TurnEvent {}
+
+    /**
+     * A turn has been completed. This is the last event of each turn.
+     * @param turn The number of turns completed so far.
+     * @param aliveSnakes The number of snakes alive after the turn.
+     * @author cryingshadow
+     */
+    record TurnCompleted(int turn, int aliveSnakes) implements TurnEvent {}
+
+}
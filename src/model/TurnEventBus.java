@@ -0,0 +1,77 @@
+package model;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Delivers the events of each turn as one batch to the listeners subscribed to the respective event types. Listeners
+ * only receive the events of the types they subscribed to such that they can do work proportional to the changes they
+ * are interested in. Events are delivered on the thread publishing them (usually the turn thread). Subscribing and
+ * unsubscribing is thread-safe.
+ * @author cryingshadow
+ */
+public class TurnEventBus {
+
+    /**
+     * The listeners by event type.
+     */
+    private final Map<Class<? extends TurnEvent>, List<Consumer<? super TurnEvent>>> listeners;
+
+    /**
+     * Creates a bus without listeners.
+     */
+    public TurnEventBus() {
+        this.listeners = new ConcurrentHashMap<Class<? extends TurnEvent>, List<Consumer<? super TurnEvent>>>();
+    }
+
+    /**
+     * @return The number of subscriptions over all event types.
+     */
+    public int getListenerCount() {
+        int res = 0;
+        for (final List<Consumer<? super TurnEvent>> list : this.listeners.values()) {
+            res += list.size();
+        }
+        return res;
+    }
+
+    /**
+     * Delivers the specified events in their order to the listeners subscribed to their types.
+     * @param batch The events of a turn.
+     */
+    public void publish(final List<TurnEvent> batch) {
+        for (final TurnEvent event : batch) {
+            final List<Consumer<? super TurnEvent>> list = this.listeners.get(event.getClass());
+            if (list != null) {
+                for (final Consumer<? super TurnEvent> listener : list) {
+                    listener.accept(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param <T> The event type.
+     * @param type The event type.
+     * @param listener The listener to receive all events of the specified type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends TurnEvent> void subscribe(final Class<T> type, final Consumer<? super T> listener) {
+        this.listeners
+        .computeIfAbsent(type, key -> new CopyOnWriteArrayList<Consumer<? super TurnEvent>>())
+        .add((Consumer<? super TurnEvent>)listener);
+    }
+
+    /**
+     * @param <T> The event type.
+     * @param type The event type.
+     * @param listener The listener to remove.
+     * @return True if the listener was actually subscribed to the specified event type.
+     */
+    public <T extends TurnEvent> boolean unsubscribe(final Class<T> type, final Consumer<? super T> listener) {
+        final List<Consumer<? super TurnEvent>> list = this.listeners.get(type);
+        return list != null && list.remove(listener);
+    }
+
+}
@@ -2,6 +2,8 @@ package model;
 
 import java.util.*;
 
+import util.*;
+
 /**
  * The collection of walls in the current maze.
  * @author cryingshadow
@@ -9,22 +11,32 @@ import java.util.*;
 public class Walls {
 
     /**
-     * The walls.
+     * The packed positions of the walls.
      */
-    private Collection<Position> walls;
+    private CellSet walls;
 
     /**
      * @param walls The walls;
      */
     public Walls(final Collection<Position> walls) {
-        this.walls = walls;
+        this.setWalls(walls);
     }
 
     /**
      * @return The walls.
      */
     public Collection<Position> getWalls() {
-        return this.walls;
+        final List<Position> res = new ArrayList<Position>(this.walls.size());
+        this.walls.forEach(wall -> res.add(Position.unpack(wall)));
+        return res;
+    }
+
+    /**
+     * @param pos A packed position.
+     * @return True if the specified position is a wall.
+     */
+    public boolean isWall(final int pos) {
+        return this.walls.contains(pos);
     }
 
     /**
@@ -32,14 +44,18 @@ public class Walls {
      * @return True if the specified position is a wall.
      */
     public boolean isWall(final Position pos) {
-        return this.walls.contains(pos);
+        return this.isWall(pos.pack());
     }
 
     /**
      * @param walls The walls.
      */
     public void setWalls(final Collection<Position> walls) {
-        this.walls = walls;
+        final CellSet cells = new CellSet();
+        for (final Position wall : walls) {
+            cells.add(wall.pack());
+        }
+        this.walls = cells;
     }
 
 }
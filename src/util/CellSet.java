@@ -0,0 +1,113 @@
+package util;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * A set of packed positions (see model.Position.pack) backed by a bit set. Membership tests are a single bit lookup
+ * and the memory needed is proportional to the largest element rather than to the number of elements.
+ * @author cryingshadow
+ */
+public class CellSet {
+
+    /**
+     * The bits representing the elements.
+     */
+    private final BitSet bits;
+
+    /**
+     * The number of elements.
+     */
+    private int size;
+
+    /**
+     * Creates an empty set.
+     */
+    public CellSet() {
+        this.bits = new BitSet();
+        this.size = 0;
+    }
+
+    /**
+     * Creates a copy of the specified set.
+     * @param other The set to copy.
+     */
+    public CellSet(final CellSet other) {
+        this.bits = (BitSet)other.bits.clone();
+        this.size = other.size;
+    }
+
+    /**
+     * @param cell Some element.
+     * @return True if the element was not contained before.
+     */
+    public boolean add(final int cell) {
+        if (this.bits.get(cell)) {
+            return false;
+        }
+        this.bits.set(cell);
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public void clear() {
+        this.bits.clear();
+        this.size = 0;
+    }
+
+    /**
+     * @param cell Some element.
+     * @return True if the element is contained in this set.
+     */
+    public boolean contains(final int cell) {
+        return cell >= 0 && this.bits.get(cell);
+    }
+
+    /**
+     * @param action The action to perform for each element in ascending order.
+     */
+    public void forEach(final IntConsumer action) {
+        for (int cell = this.bits.nextSetBit(0); cell >= 0; cell = this.bits.nextSetBit(cell + 1)) {
+            action.accept(cell);
+        }
+    }
+
+    /**
+     * @return True if this set contains no elements.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @param cell Some element.
+     * @return True if the element was contained before.
+     */
+    public boolean remove(final int cell) {
+        if (!this.contains(cell)) {
+            return false;
+        }
+        this.bits.clear(cell);
+        this.size--;
+        return true;
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return The elements of this set in ascending order.
+     */
+    public IntStream stream() {
+        return this.bits.stream();
+    }
+
+}
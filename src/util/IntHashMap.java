@@ -0,0 +1,220 @@
+package util;
+
+import java.util.*;
+
+/**
+ * A hash map from primitive int keys to primitive int values using open addressing with linear probing. In contrast
+ * to a HashMap of Integers, it neither boxes its keys and values nor allocates entries.
+ * @author cryingshadow
+ */
+public class IntHashMap {
+
+    /**
+     * The keys.
+     */
+    private int[] keys;
+
+    /**
+     * The number of entries.
+     */
+    private int size;
+
+    /**
+     * Flags indicating which slots in the keys array are used.
+     */
+    private boolean[] used;
+
+    /**
+     * The values.
+     */
+    private int[] values;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntHashMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map with enough space for the specified number of entries.
+     * @param expected The expected number of entries.
+     */
+    public IntHashMap(final int expected) {
+        final int capacity = IntHashSet.capacityFor(expected);
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.used = new boolean[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Adds the specified delta to the value of the specified key. Missing keys are treated as having value zero.
+     * @param key Some key.
+     * @param delta The value to add.
+     * @return The new value of the specified key.
+     */
+    public int add(final int key, final int delta) {
+        final int index = this.find(key);
+        if (index >= 0) {
+            this.values[index] += delta;
+            return this.values[index];
+        }
+        this.insert(key, delta);
+        return delta;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        Arrays.fill(this.used, false);
+        this.size = 0;
+    }
+
+    /**
+     * @param key Some key.
+     * @return True if this map contains a value for the specified key.
+     */
+    public boolean containsKey(final int key) {
+        return this.find(key) >= 0;
+    }
+
+    /**
+     * @param key Some key.
+     * @param defaultValue The value to return if the key is not contained in this map.
+     * @return The value of the specified key or the default value if this map contains no value for the key.
+     */
+    public int get(final int key, final int defaultValue) {
+        final int index = this.find(key);
+        return index >= 0 ? this.values[index] : defaultValue;
+    }
+
+    /**
+     * @return True if this map contains no entries.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @return The keys of this map.
+     */
+    public int[] keys() {
+        final int[] res = new int[this.size];
+        int next = 0;
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.used[i]) {
+                res[next++] = this.keys[i];
+            }
+        }
+        return res;
+    }
+
+    /**
+     * @param key Some key.
+     * @param value The new value for the specified key.
+     */
+    public void put(final int key, final int value) {
+        final int index = this.find(key);
+        if (index >= 0) {
+            this.values[index] = value;
+        } else {
+            this.insert(key, value);
+        }
+    }
+
+    /**
+     * @param key Some key.
+     * @return True if this map contained a value for the specified key.
+     */
+    public boolean remove(final int key) {
+        final int index = this.find(key);
+        if (index < 0) {
+            return false;
+        }
+        this.size--;
+        final int mask = this.keys.length - 1;
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (this.used[next]) {
+            final int home = IntHashSet.index(this.keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                this.keys[gap] = this.keys[next];
+                this.values[gap] = this.values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        this.used[gap] = false;
+        return true;
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param key Some key.
+     * @return The slot of the specified key or -1 if this map does not contain the key.
+     */
+    private int find(final int key) {
+        final int mask = this.keys.length - 1;
+        int index = IntHashSet.index(key, mask);
+        while (this.used[index]) {
+            if (this.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts the specified key which must not be contained in this map yet.
+     * @param key Some key.
+     * @param value The value for the key.
+     */
+    private void insert(final int key, final int value) {
+        if (2 * (this.size + 1) > this.keys.length) {
+            this.resize(this.keys.length << 1);
+        }
+        final int mask = this.keys.length - 1;
+        int index = IntHashSet.index(key, mask);
+        while (this.used[index]) {
+            index = (index + 1) & mask;
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.used[index] = true;
+        this.size++;
+    }
+
+    /**
+     * @param capacity The new capacity of the underlying arrays.
+     */
+    private void resize(final int capacity) {
+        final int[] oldKeys = this.keys;
+        final int[] oldValues = this.values;
+        final boolean[] oldUsed = this.used;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.used = new boolean[capacity];
+        final int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = IntHashSet.index(oldKeys[i], mask);
+                while (this.used[index]) {
+                    index = (index + 1) & mask;
+                }
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+                this.used[index] = true;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,216 @@
+package util;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A hash set of primitive int values using open addressing with linear probing. In contrast to a HashSet of Integers,
+ * it neither boxes its elements nor allocates entries.
+ * @author cryingshadow
+ */
+public class IntHashSet {
+
+    /**
+     * The minimum capacity of the underlying arrays.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * @param expected The expected number of elements.
+     * @return The capacity of the underlying arrays for the specified number of elements.
+     */
+    static int capacityFor(final int expected) {
+        int capacity = IntHashSet.MIN_CAPACITY;
+        while (capacity < 2 * expected) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * @param key Some key.
+     * @param mask The mask for the capacity of the underlying arrays.
+     * @return The index at which to start searching for the specified key.
+     */
+    static int index(final int key, final int mask) {
+        final int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * The elements.
+     */
+    private int[] keys;
+
+    /**
+     * The number of elements.
+     */
+    private int size;
+
+    /**
+     * Flags indicating which slots in the keys array are used.
+     */
+    private boolean[] used;
+
+    /**
+     * Creates an empty set.
+     */
+    public IntHashSet() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty set with enough space for the specified number of elements.
+     * @param expected The expected number of elements.
+     */
+    public IntHashSet(final int expected) {
+        final int capacity = IntHashSet.capacityFor(expected);
+        this.keys = new int[capacity];
+        this.used = new boolean[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * @param key Some element.
+     * @return True if the element was not contained before.
+     */
+    public boolean add(final int key) {
+        final int mask = this.keys.length - 1;
+        int index = IntHashSet.index(key, mask);
+        while (this.used[index]) {
+            if (this.keys[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        this.keys[index] = key;
+        this.used[index] = true;
+        this.size++;
+        if (2 * this.size > this.keys.length) {
+            this.resize(this.keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public void clear() {
+        Arrays.fill(this.used, false);
+        this.size = 0;
+    }
+
+    /**
+     * @param key Some element.
+     * @return True if the element is contained in this set.
+     */
+    public boolean contains(final int key) {
+        final int mask = this.keys.length - 1;
+        int index = IntHashSet.index(key, mask);
+        while (this.used[index]) {
+            if (this.keys[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @param action The action to perform for each element.
+     */
+    public void forEach(final IntConsumer action) {
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.used[i]) {
+                action.accept(this.keys[i]);
+            }
+        }
+    }
+
+    /**
+     * @return True if this set contains no elements.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @param key Some element.
+     * @return True if the element was contained before.
+     */
+    public boolean remove(final int key) {
+        final int mask = this.keys.length - 1;
+        int index = IntHashSet.index(key, mask);
+        while (this.used[index]) {
+            if (this.keys[index] == key) {
+                this.size--;
+                this.shiftBack(index);
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return The elements of this set.
+     */
+    public int[] toArray() {
+        final int[] res = new int[this.size];
+        int next = 0;
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.used[i]) {
+                res[next++] = this.keys[i];
+            }
+        }
+        return res;
+    }
+
+    /**
+     * @param capacity The new capacity of the underlying arrays.
+     */
+    private void resize(final int capacity) {
+        final int[] oldKeys = this.keys;
+        final boolean[] oldUsed = this.used;
+        this.keys = new int[capacity];
+        this.used = new boolean[capacity];
+        final int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = IntHashSet.index(oldKeys[i], mask);
+                while (this.used[index]) {
+                    index = (index + 1) & mask;
+                }
+                this.keys[index] = oldKeys[i];
+                this.used[index] = true;
+            }
+        }
+    }
+
+    /**
+     * Frees the specified slot and moves subsequent elements back such that no probing sequence is interrupted.
+     * @param freed The slot to free.
+     */
+    private void shiftBack(final int freed) {
+        final int mask = this.keys.length - 1;
+        int gap = freed;
+        int index = (gap + 1) & mask;
+        while (this.used[index]) {
+            final int home = IntHashSet.index(this.keys[index], mask);
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                this.keys[gap] = this.keys[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        this.used[gap] = false;
+    }
+
+}
@@ -0,0 +1,101 @@
+package util;
+
+import java.util.*;
+
+/**
+ * A first-in-first-out queue of primitive int values stored in a growing ring buffer.
+ * @author cryingshadow
+ */
+public class IntQueue {
+
+    /**
+     * The ring buffer holding the elements.
+     */
+    private int[] elements;
+
+    /**
+     * The index of the first element.
+     */
+    private int head;
+
+    /**
+     * The number of elements.
+     */
+    private int size;
+
+    /**
+     * Creates an empty queue.
+     */
+    public IntQueue() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty queue with enough space for the specified number of elements.
+     * @param expected The expected number of elements.
+     */
+    public IntQueue(final int expected) {
+        this.elements = new int[Math.max(1, expected)];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public void clear() {
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * @return True if this queue contains no elements.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @param element The element to add at the end of this queue.
+     */
+    public void offer(final int element) {
+        if (this.size == this.elements.length) {
+            final int[] grown = new int[this.elements.length << 1];
+            final int firstPart = this.elements.length - this.head;
+            System.arraycopy(this.elements, this.head, grown, 0, firstPart);
+            System.arraycopy(this.elements, 0, grown, firstPart, this.head);
+            this.elements = grown;
+            this.head = 0;
+        }
+        this.elements[(this.head + this.size) % this.elements.length] = element;
+        this.size++;
+    }
+
+    /**
+     * @return The first element of this queue.
+     */
+    public int peek() {
+        if (this.size == 0) {
+            throw new NoSuchElementException("The queue is empty!");
+        }
+        return this.elements[this.head];
+    }
+
+    /**
+     * @return The first element of this queue which is removed from it.
+     */
+    public int poll() {
+        final int res = this.peek();
+        this.head = (this.head + 1) % this.elements.length;
+        this.size--;
+        return res;
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    public int size() {
+        return this.size;
+    }
+
+}
@@ -0,0 +1,136 @@
+package util;
+
+/**
+ * A union find data structure over primitive int elements using path compression and union by size.
+ * @author cryingshadow
+ */
+public class IntUnionFind {
+
+    /**
+     * The number of disjoint classes.
+     */
+    private int classes;
+
+    /**
+     * The parent of each element in the tree representing its class. Roots are their own parents.
+     */
+    private final IntHashMap parents;
+
+    /**
+     * The size of the class of each root.
+     */
+    private final IntHashMap sizes;
+
+    /**
+     * Creates an empty union find data structure.
+     */
+    public IntUnionFind() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty union find data structure with enough space for the specified number of elements.
+     * @param expected The expected number of elements.
+     */
+    public IntUnionFind(final int expected) {
+        this.parents = new IntHashMap(expected);
+        this.sizes = new IntHashMap(expected);
+        this.classes = 0;
+    }
+
+    /**
+     * Adds the specified element as a class of its own.
+     * @param element Some element.
+     * @return True if the element was not contained before.
+     */
+    public boolean add(final int element) {
+        if (this.parents.containsKey(element)) {
+            return false;
+        }
+        this.parents.put(element, element);
+        this.sizes.put(element, 1);
+        this.classes++;
+        return true;
+    }
+
+    /**
+     * @param element Some element.
+     * @return True if the element is contained in this union find data structure.
+     */
+    public boolean contains(final int element) {
+        return this.parents.containsKey(element);
+    }
+
+    /**
+     * Find with path compression. Elements not contained yet are added as a class of their own.
+     * @param element Some element.
+     * @return The representative for the specified element.
+     */
+    public int find(final int element) {
+        if (this.add(element)) {
+            return element;
+        }
+        int root = element;
+        int parent = this.parents.get(root, root);
+        while (parent != root) {
+            root = parent;
+            parent = this.parents.get(root, root);
+        }
+        int current = element;
+        while (current != root) {
+            final int next = this.parents.get(current, current);
+            this.parents.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    /**
+     * @return The number of disjoint classes.
+     */
+    public int getNumberOfClasses() {
+        return this.classes;
+    }
+
+    /**
+     * @param e1 Some element.
+     * @param e2 Another element.
+     * @return True if both have the same representative.
+     */
+    public boolean isJoint(final int e1, final int e2) {
+        return this.find(e1) == this.find(e2);
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    public int size() {
+        return this.parents.size();
+    }
+
+    /**
+     * Joins the classes of the specified elements.
+     * @param e1 Some element.
+     * @param e2 Another element.
+     */
+    public void union(final int e1, final int e2) {
+        final int root1 = this.find(e1);
+        final int root2 = this.find(e2);
+        if (root1 == root2) {
+            return;
+        }
+        final int size1 = this.sizes.get(root1, 1);
+        final int size2 = this.sizes.get(root2, 1);
+        if (size1 < size2) {
+            this.parents.put(root1, root2);
+            this.sizes.put(root2, size1 + size2);
+            this.sizes.remove(root1);
+        } else {
+            this.parents.put(root2, root1);
+            this.sizes.put(root1, size1 + size2);
+            this.sizes.remove(root2);
+        }
+        this.classes--;
+    }
+
+}
@@ -0,0 +1,168 @@
+package util;
+
+/**
+ * Thread-safe histogram of non-negative latencies in nanoseconds with a fixed relative precision. Values are counted
+ * in buckets whose width is a sixteenth of their magnitude (so percentiles are accurate up to 6.25%), which keeps
+ * recording a value as cheap as incrementing an array entry independent of the number of recorded values.
+ * @author cryingshadow
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of buckets needed to cover all non-negative long values.
+     */
+    private static final int BUCKETS = (Long.SIZE - LatencyHistogram.SUB_BITS) * LatencyHistogram.SUB_BUCKETS;
+
+    /**
+     * The number of sub-buckets per power of two (as bits).
+     */
+    private static final int SUB_BITS = 4;
+
+    /**
+     * The number of sub-buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BITS;
+
+    /**
+     * @param value A non-negative value.
+     * @return The index of the bucket containing the specified value.
+     */
+    private static int bucketOf(final long value) {
+        if (value < LatencyHistogram.SUB_BUCKETS) {
+            return (int)value;
+        }
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - LatencyHistogram.SUB_BITS;
+        final int sub = (int)((value >>> shift) & (LatencyHistogram.SUB_BUCKETS - 1));
+        return (shift + 1) * LatencyHistogram.SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @param bucket The index of a bucket.
+     * @return The greatest value contained in the specified bucket.
+     */
+    private static long highestValueIn(final int bucket) {
+        if (bucket < LatencyHistogram.SUB_BUCKETS) {
+            return bucket;
+        }
+        final int shift = bucket / LatencyHistogram.SUB_BUCKETS - 1;
+        final long lowest = (long)(LatencyHistogram.SUB_BUCKETS + bucket % LatencyHistogram.SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * The number of recorded values per bucket.
+     */
+    private final long[] buckets;
+
+    /**
+     * The number of recorded values.
+     */
+    private long count;
+
+    /**
+     * The greatest recorded value.
+     */
+    private long max;
+
+    /**
+     * The sum of all recorded values.
+     */
+    private long total;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.buckets = new long[LatencyHistogram.BUCKETS];
+        this.count = 0;
+        this.max = 0;
+        this.total = 0;
+    }
+
+    /**
+     * @param histogram The histogram to copy.
+     */
+    public LatencyHistogram(final LatencyHistogram histogram) {
+        synchronized (histogram) {
+            this.buckets = histogram.buckets.clone();
+            this.count = histogram.count;
+            this.max = histogram.max;
+            this.total = histogram.total;
+        }
+    }
+
+    /**
+     * Adds all values recorded by the specified histogram to this histogram.
+     * @param histogram Another histogram.
+     */
+    public void add(final LatencyHistogram histogram) {
+        final LatencyHistogram copy = new LatencyHistogram(histogram);
+        synchronized (this) {
+            for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+                this.buckets[i] += copy.buckets[i];
+            }
+            this.count += copy.count;
+            this.max = Math.max(this.max, copy.max);
+            this.total += copy.total;
+        }
+    }
+
+    /**
+     * @return The number of recorded values.
+     */
+    public synchronized long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @return The greatest recorded value or 0 if no value has been recorded.
+     */
+    public synchronized long getMax() {
+        return this.max;
+    }
+
+    /**
+     * @return The average of the recorded values or 0 if no value has been recorded.
+     */
+    public synchronized double getMean() {
+        return this.count == 0 ? 0.0 : (double)this.total / this.count;
+    }
+
+    /**
+     * @param percentile A percentile between 0 and 100.
+     * @return A value such that at least the specified percentage of recorded values is not greater than this value
+     *         (overestimating by at most a sixteenth and never exceeding the greatest recorded value). 0 if no value
+     *         has been recorded.
+     */
+    public synchronized long getValueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100!");
+        }
+        if (this.count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long)Math.ceil(percentile / 100 * this.count));
+        long seen = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            seen += this.buckets[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueIn(i), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * @param value A non-negative value to record.
+     */
+    public synchronized void record(final long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Latencies must not be negative!");
+        }
+        this.buckets[LatencyHistogram.bucketOf(value)]++;
+        this.count++;
+        this.max = Math.max(this.max, value);
+        this.total += value;
+    }
+
+}
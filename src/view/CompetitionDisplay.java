@@ -134,13 +134,13 @@ public class CompetitionDisplay extends JPanel {
      */
     private void addTurnDisplay() {
         final JLabel turnDisplay = new JLabel();
-        turnDisplay.setText("Turns: " + this.competition.getTurns());
+        turnDisplay.setText(this.getTurnLabel());
         this.competition.addChangeListener(
             new ChangeListener() {
 
                 @Override
                 public void stateChanged(final ChangeEvent e) {
-                    turnDisplay.setText("Turns: " + CompetitionDisplay.this.competition.getTurns());
+                    turnDisplay.setText(CompetitionDisplay.this.getTurnLabel());
                 }
 
             }
@@ -159,5 +159,16 @@ public class CompetitionDisplay extends JPanel {
         }
     }
 
+    /**
+     * @return The label text for the turn display.
+     */
+    private String getTurnLabel() {
+        final long dropped = this.competition.getDroppedTicks();
+        if (dropped > 0) {
+            return "Turns: " + this.competition.getTurns() + " (dropped ticks: " + dropped + ")";
+        }
+        return "Turns: " + this.competition.getTurns();
+    }
+
 }
 
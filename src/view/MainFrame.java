@@ -1,8 +1,11 @@
 package view;
 
 import java.awt.*;
+import java.awt.event.*;
+import java.util.*;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import javax.swing.event.*;
 
 import control.*;
@@ -10,6 +13,8 @@ import model.*;
 
 public class MainFrame extends JFrame {
 
+    private static final int REFRESH_PERIOD = 16;
+
     private static final long serialVersionUID = 1L;
 
     public MainFrame(
@@ -18,7 +23,8 @@ public class MainFrame extends JFrame {
         final SnakeControls snakeControls,
         final Competition competition,
         final Settings settings,
-        final CompetitionControl control
+        final CompetitionControl control,
+        final SnapshotExchange snapshots
     ) {
         super("Snake Competition");
         final JPanel content = new JPanel(new GridBagLayout());
@@ -27,6 +33,8 @@ public class MainFrame extends JFrame {
         final JScrollPane scroll = new JScrollPane(content);
         this.getContentPane().add(scroll);
         final MazeDisplay mazeDisplay = new MazeDisplay(maze, settings);
+        final JScrollPane mazeScroll = new JScrollPane(mazeDisplay);
+        final MiniMap miniMap = new MiniMap(maze, settings, mazeScroll.getViewport());
         final SnakesDisplay snakesDisplay = new SnakesDisplay(settings, snakes);
         final SettingsDisplay settingsDisplay = new SettingsDisplay(settings, competition, control);
         final CompetitionDisplay competitionDisplay =
@@ -36,14 +44,16 @@ public class MainFrame extends JFrame {
         c.gridy = 0;
         c.fill = GridBagConstraints.HORIZONTAL;
         c.weightx = 1.0;
-        statsAndControls.add(snakesDisplay, c);
+        statsAndControls.add(miniMap, c);
         c.gridy = 1;
-        statsAndControls.add(settingsDisplay, c);
+        statsAndControls.add(snakesDisplay, c);
         c.gridy = 2;
+        statsAndControls.add(settingsDisplay, c);
+        c.gridy = 3;
         statsAndControls.add(competitionDisplay, c);
         c.gridy = 0;
         c.anchor = GridBagConstraints.NORTHEAST;
-        content.add(mazeDisplay, c);
+        content.add(mazeScroll, c);
         c.gridx = 1;
         c.anchor = GridBagConstraints.NORTH;
         c.fill = GridBagConstraints.NONE;
@@ -60,6 +70,23 @@ public class MainFrame extends JFrame {
 
             }
         );
+        final Timer refresh = new Timer(
+            MainFrame.REFRESH_PERIOD,
+            new ActionListener() {
+
+                @Override
+                public void actionPerformed(final ActionEvent e) {
+                    final Optional<Snapshot> snapshot = snapshots.take();
+                    if (snapshot.isPresent()) {
+                        mazeDisplay.setMaze(snapshot.get().maze());
+                        miniMap.setMaze(snapshot.get().maze());
+                        snakesDisplay.setSnakes(snapshot.get().snakes());
+                    }
+                }
+
+            }
+        );
+        refresh.start();
         this.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
     }
 
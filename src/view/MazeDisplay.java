@@ -1,6 +1,7 @@
 package view;
 
 import java.awt.*;
+import java.awt.image.*;
 import java.util.*;
 
 import javax.swing.*;
@@ -9,10 +10,21 @@ import javax.swing.event.*;
 import model.*;
 
 /**
- * Display for a maze.
+ * Display for a maze. The displayed maze is replaced as a whole on the event dispatch thread (see setMaze) such that
+ * painting never sees a maze being modified. The fields are rendered into an offscreen canvas composed of two layers:
+ * the static layer (background and walls, which do not change during a competition) is rendered once into a cached
+ * image and the dynamic layer (snakes, food, and collisions) is drawn on top of it. When the maze is replaced, only the
+ * fields which changed are composed again and repainted (as far as known, only the fields in the change log of the maze
+ * are compared - see Maze.getChangesSince), and painting only copies the clipped part of the canvas. The
+ * whole canvas is only composed again when the zoom or the dimensions of the maze change, and the static layer is only
+ * rendered again when additionally the walls change. For boards with many fields (see RASTER_FIELD_THRESHOLD), whose
+ * canvas would be too large (see RASTER_PIXEL_THRESHOLD), or for zooms too small for the shapes of the fields (see
+ * MIN_SHAPE_ZOOM), the display switches to a raster mode instead: each field is a single pixel written directly into an
+ * integer raster, which is scaled to the zoom by a single drawImage call. The display is meant to be shown in a scroll
+ * pane: only fields intersecting the visible part are repainted and copied to the screen.
  * @author cryingshadow
  */
-public class MazeDisplay extends JPanel {
+public class MazeDisplay extends JPanel implements Scrollable {
 
     /**
      * The color of a free field.
@@ -34,16 +46,103 @@ public class MazeDisplay extends JPanel {
      */
     private static final int HEAD_LINE_WIDTH_FACTOR = 10;
 
+    /**
+     * The zoom below which the ovals of food and heads degenerate such that the raster mode is used.
+     */
+    private static final int MIN_SHAPE_ZOOM = 4;
+
+    /**
+     * The number of fields of the maze above which the raster mode is used (whatever the zoom) since drawing each
+     * field separately does not scale to such boards.
+     */
+    private static final long RASTER_FIELD_THRESHOLD = 250_000;
+
+    /**
+     * The number of pixels of the maze at the current zoom above which the raster mode is used since the canvas would
+     * take too much memory.
+     */
+    private static final long RASTER_PIXEL_THRESHOLD = 9_000_000;
+
     /**
      * For serialization.
      */
     private static final long serialVersionUID = 3055355083944967024L;
 
+    /**
+     * The maximum width and height in pixels of the preferred viewport showing this display.
+     */
+    private static final int VIEWPORT_SIZE = 800;
+
     /**
      * The color of a wall.
      */
     private static final Color WALL = Color.GRAY;
 
+    /**
+     * @param code The code of a field.
+     * @param maze The maze containing the field.
+     * @return The RGB value representing the field in the raster mode.
+     */
+    static int colorOf(final short code, final Maze maze) {
+        switch (Maze.typeOf(code)) {
+            case COLLISION_ON_FOOD:
+            case COLLISION_ON_FREE:
+            case COLLISION_ON_WALL:
+                return MazeDisplay.COLLISION.getRGB();
+            case FOOD:
+                return MazeDisplay.FOOD.getRGB();
+            case FREE:
+                return MazeDisplay.BACKGROUND.getRGB();
+            case SNAKE_BODY:
+            case SNAKE_HEAD:
+            case SNAKE_HEAD_EATING:
+                return maze.getSnakeColor(Maze.snakeIndexOf(code)).getRGB();
+            case WALL:
+                return MazeDisplay.WALL.getRGB();
+            default:
+                throw new IllegalStateException("Someone found a new field type...");
+        }
+    }
+
+    /**
+     * @param rectangle A rectangle.
+     * @param x The offset of a field on the x-axis.
+     * @param y The offset of a field on the y-axis.
+     * @param size The field size.
+     * @return True if the field intersects the specified rectangle.
+     */
+    private static boolean intersects(final Rectangle rectangle, final int x, final int y, final int size) {
+        return x < rectangle.x + rectangle.width
+            && x + size > rectangle.x
+            && y < rectangle.y + rectangle.height
+            && y + size > rectangle.y;
+    }
+
+    /**
+     * @param previous The previous maze.
+     * @param maze The current maze.
+     * @param previousCode The code of a field in the previous maze.
+     * @param code The code of the same field in the current maze.
+     * @return True if the field looks different in the current maze.
+     */
+    private static boolean isChanged(final Maze previous, final Maze maze, final short previousCode, final short code) {
+        if (previousCode != code) {
+            return true;
+        }
+        final int snakeIndex = Maze.snakeIndexOf(code);
+        return snakeIndex != Maze.NO_SNAKE
+            && !previous.getSnakeColor(snakeIndex).equals(maze.getSnakeColor(snakeIndex));
+    }
+
+    /**
+     * @param code The code of a field.
+     * @return True if the field belongs to the walls (whether a snake collided with it or not).
+     */
+    private static boolean isWall(final short code) {
+        final FieldType type = Maze.typeOf(code);
+        return type == FieldType.WALL || type == FieldType.COLLISION_ON_WALL;
+    }
+
     /**
      * Paints the background of the field.
      * @param g The graphics.
@@ -69,53 +168,70 @@ public class MazeDisplay extends JPanel {
      * @param x The offset on the x-axis.
      * @param y The offset on the y-axis.
      * @param size The field size.
-     * @param color The background color.
+     * @param snakeIndex The index of the snake in the maze.
+     * @param maze The maze.
      */
     private static void paintSnakePart(
         final Graphics g,
         final int x,
         final int y,
         final int size,
-        final Optional<Color> color
+        final int snakeIndex,
+        final Maze maze
     ) {
-        if (!color.isPresent()) {
+        if (snakeIndex == Maze.NO_SNAKE) {
             throw new IllegalArgumentException("Type SNAKE is incompatible with an empty snake part!");
         }
-        final Color snakeColor = color.get();
-        g.setColor(snakeColor);
+        g.setColor(maze.getSnakeColor(snakeIndex));
         g.fillOval(x, y, size, size);
     }
 
     /**
-     * The maze.
+     * The offscreen canvas containing the rendered fields of the maze or null if it must be rendered completely.
+     */
+    private BufferedImage canvas;
+
+    /**
+     * The zoom the canvas has been rendered with.
+     */
+    private int canvasZoom;
+
+    /**
+     * The displayed maze. It is never modified.
      */
     private Maze maze;
 
+    /**
+     * The pixels of the raster.
+     */
+    private int[] pixels;
+
+    /**
+     * The raster containing one pixel per field of the maze in the raster mode or null if it must be rendered
+     * completely.
+     */
+    private BufferedImage raster;
+
     /**
      * The settings.
      */
     private final Settings settings;
 
     /**
-     * @param maze The maze.
+     * The cached static layer containing the background and the walls or null if it must be rendered again.
+     */
+    private BufferedImage staticLayer;
+
+    /**
+     * @param maze The initial maze. It is copied.
      * @param settings The settings.
      */
     public MazeDisplay(final Maze maze, final Settings settings) {
         if (maze.getWidth() < 1 || maze.getHeight() < 1) {
             throw new IllegalArgumentException("Maze must have at least one row and column!");
         }
-        this.maze = maze;
+        this.maze = new Maze(maze);
         this.settings = settings;
-        this.maze.addChangeListener(
-            new ChangeListener() {
-
-                @Override
-                public void stateChanged(final ChangeEvent e) {
-                    MazeDisplay.this.repaint();
-                }
-
-            }
-        );
         this.settings.addChangeListener(
             new ChangeListener() {
 
@@ -128,51 +244,147 @@ public class MazeDisplay extends JPanel {
         );
     }
 
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        final Dimension size = this.getPreferredSize();
+        return new Dimension(
+            Math.min(size.width, MazeDisplay.VIEWPORT_SIZE),
+            Math.min(size.height, MazeDisplay.VIEWPORT_SIZE)
+        );
+    }
+
     @Override
     public Dimension getPreferredSize() {
         final int size = this.settings.getZoom();
         return new Dimension(size * this.maze.getWidth(), size * this.maze.getHeight());
     }
 
+    @Override
+    public int getScrollableBlockIncrement(final Rectangle visibleRect, final int orientation, final int direction) {
+        final int extent = orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+        return Math.max(this.settings.getZoom(), extent - this.settings.getZoom());
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(final Rectangle visibleRect, final int orientation, final int direction) {
+        return this.settings.getZoom();
+    }
+
     /**
-     * @param maze The maze.
+     * Must be called on the event dispatch thread.
+     * @param maze The maze to display. It must not be modified afterwards.
      */
     public void setMaze(final Maze maze) {
+        final Maze previous = this.maze;
         this.maze = maze;
-        this.repaint();
+        if (maze.getWidth() != previous.getWidth() || maze.getHeight() != previous.getHeight()) {
+            this.canvas = null;
+            this.raster = null;
+            this.revalidate();
+            this.repaint();
+            return;
+        }
+        if (this.isRasterMode()) {
+            if (this.raster == null) {
+                this.repaint();
+            } else {
+                this.updateRaster(previous);
+            }
+        } else if (!this.isCanvasValid()) {
+            this.repaint();
+        } else {
+            this.updateCanvas(previous);
+        }
     }
 
     @Override
     protected void paintComponent(final Graphics g) {
-        final int size = this.settings.getZoom();
-        final int height = this.maze.getHeight();
-        for (int i = 0; i < height; i++) {
-            final int yOffset = (height - i - 1) * size;
-            for (int j = 0; j < this.maze.getWidth(); j++) {
-                final int xOffset = j * size;
-                this.paintField(g, xOffset, yOffset, this.maze.getField(j, i), size);
+        if (this.isRasterMode()) {
+            if (this.raster == null) {
+                this.renderRaster();
             }
+            // only scale the fields intersecting the clip
+            final int size = this.settings.getZoom();
+            final Rectangle clip = g.getClipBounds() == null ? this.getVisibleRect() : g.getClipBounds();
+            final int left = Math.max(0, clip.x / size);
+            final int top = Math.max(0, clip.y / size);
+            final int right = Math.min(this.maze.getWidth(), (clip.x + clip.width + size - 1) / size);
+            final int bottom = Math.min(this.maze.getHeight(), (clip.y + clip.height + size - 1) / size);
+            if (left < right && top < bottom) {
+                g.drawImage(
+                    this.raster,
+                    left * size,
+                    top * size,
+                    right * size,
+                    bottom * size,
+                    left,
+                    top,
+                    right,
+                    bottom,
+                    null
+                );
+            }
+            return;
+        }
+        if (!this.isCanvasValid()) {
+            this.renderCanvas();
         }
+        // only the clipped part is actually copied
+        g.drawImage(this.canvas, 0, 0, null);
     }
 
     /**
-     * Paints the content of the field on top of its background (i.e., paintBackground must have been called before).
+     * @return True if the canvas has been rendered for the current zoom and the dimensions of the current maze.
+     */
+    private boolean isCanvasValid() {
+        final int size = this.settings.getZoom();
+        return this.canvas != null
+            && this.canvasZoom == size
+            && this.canvas.getWidth() == size * this.maze.getWidth()
+            && this.canvas.getHeight() == size * this.maze.getHeight();
+    }
+
+    /**
+     * @return True if the maze has too many fields or is too large at the current zoom for the canvas or the current
+     *         zoom is too small for the shapes of the fields such that the raster mode is used.
+     */
+    private boolean isRasterMode() {
+        final long size = this.settings.getZoom();
+        final long fields = (long)this.maze.getWidth() * this.maze.getHeight();
+        return size < MazeDisplay.MIN_SHAPE_ZOOM
+            || fields > MazeDisplay.RASTER_FIELD_THRESHOLD
+            || size * size * fields > MazeDisplay.RASTER_PIXEL_THRESHOLD;
+    }
+
+    /**
+     * Paints the dynamic content of the field on top of the static layer (i.e., the static layer of the field must
+     * have been drawn before).
      * @param g The graphics.
      * @param x The offset on the x-axis.
      * @param y The offset on the y-axis.
-     * @param field The field.
+     * @param type The type of the field.
+     * @param snakeIndex The index of the snake occupying the field or Maze.NO_SNAKE.
      * @param size The field size.
      */
     private void paintField(
         final Graphics g,
         final int x,
         final int y,
-        final Field field,
+        final FieldType type,
+        final int snakeIndex,
         final int size
     ) {
-        MazeDisplay.paintFieldBackground(g, x, y, size, MazeDisplay.BACKGROUND);
-        final Optional<Color> snakeColor = field.snakeColor();
-        switch (field.type()) {
+        switch (type) {
             case COLLISION_ON_FOOD:
             case COLLISION_ON_FREE:
             case COLLISION_ON_WALL:
@@ -183,22 +395,20 @@ public class MazeDisplay extends JPanel {
                 g.fillOval(x, y, size, size);
                 break;
             case FREE:
-                // do nothing
+            case WALL:
+                // part of the static layer
                 break;
             case SNAKE_BODY:
-                MazeDisplay.paintSnakePart(g, x, y, size, snakeColor);
+                MazeDisplay.paintSnakePart(g, x, y, size, snakeIndex, this.maze);
                 break;
             case SNAKE_HEAD:
-                MazeDisplay.paintSnakePart(g, x, y, size, snakeColor);
+                MazeDisplay.paintSnakePart(g, x, y, size, snakeIndex, this.maze);
                 this.paintHead(g, x, y, size, MazeDisplay.BACKGROUND);
                 break;
             case SNAKE_HEAD_EATING:
-                MazeDisplay.paintSnakePart(g, x, y, size, snakeColor);
+                MazeDisplay.paintSnakePart(g, x, y, size, snakeIndex, this.maze);
                 this.paintHead(g, x, y, size, MazeDisplay.FOOD);
                 break;
-            case WALL:
-                MazeDisplay.paintFieldBackground(g, x, y, size, MazeDisplay.WALL);
-                break;
         }
     }
 
@@ -211,10 +421,239 @@ public class MazeDisplay extends JPanel {
      * @param color The inner head color.
      */
     private void paintHead(final Graphics g, final int x, final int y, final int size, final Color color) {
-        final int lineWidth = (this.settings.getZoom() / MazeDisplay.HEAD_LINE_WIDTH_FACTOR);
+        // keep an outline of the snake's color at small zooms
+        final int lineWidth = Math.max(1, this.settings.getZoom() / MazeDisplay.HEAD_LINE_WIDTH_FACTOR);
         final int reducedSize = size - 2 * lineWidth;
         g.setColor(color);
         g.fillOval(x + lineWidth, y + lineWidth, reducedSize, reducedSize);
     }
 
+    /**
+     * Composes a fresh canvas from the static layer (which is rendered again if necessary) and the dynamic content of
+     * all fields of the current maze. Releases the raster, which is not needed outside the raster mode.
+     */
+    private void renderCanvas() {
+        final int size = this.settings.getZoom();
+        final int width = this.maze.getWidth();
+        final int height = this.maze.getHeight();
+        if (
+            this.staticLayer == null
+            || this.staticLayer.getWidth() != size * width
+            || this.staticLayer.getHeight() != size * height
+        ) {
+            this.renderStaticLayer();
+        }
+        this.raster = null;
+        this.canvas = new BufferedImage(size * width, size * height, BufferedImage.TYPE_INT_RGB);
+        this.canvasZoom = size;
+        final Graphics2D g = this.canvas.createGraphics();
+        try {
+            g.drawImage(this.staticLayer, 0, 0, null);
+            for (int i = 0; i < height; i++) {
+                final int yOffset = (height - i - 1) * size;
+                for (int j = 0; j < width; j++) {
+                    final FieldType type = this.maze.typeAt(j, i);
+                    if (type != FieldType.FREE && type != FieldType.WALL) {
+                        this.paintField(g, j * size, yOffset, type, this.maze.snakeIndexAt(j, i), size);
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Renders all fields of the current maze into a fresh raster. Releases the canvas and the static layer, which are
+     * not needed in the raster mode.
+     */
+    private void renderRaster() {
+        final int width = this.maze.getWidth();
+        final int height = this.maze.getHeight();
+        this.canvas = null;
+        this.staticLayer = null;
+        this.raster = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt)this.raster.getRaster().getDataBuffer()).getData();
+        final short[] row = new short[width];
+        for (int i = 0; i < height; i++) {
+            this.maze.getRow(i, row);
+            final int offset = (height - i - 1) * width;
+            for (int j = 0; j < width; j++) {
+                this.pixels[offset + j] = MazeDisplay.colorOf(row[j], this.maze);
+            }
+        }
+    }
+
+    /**
+     * Renders the background and the walls of the current maze into a fresh static layer.
+     */
+    private void renderStaticLayer() {
+        final int size = this.settings.getZoom();
+        final int width = this.maze.getWidth();
+        final int height = this.maze.getHeight();
+        this.staticLayer = new BufferedImage(size * width, size * height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g = this.staticLayer.createGraphics();
+        try {
+            g.setColor(MazeDisplay.BACKGROUND);
+            g.fillRect(0, 0, size * width, size * height);
+            final short[] row = new short[width];
+            for (int i = 0; i < height; i++) {
+                this.maze.getRow(i, row);
+                final int yOffset = (height - i - 1) * size;
+                for (int j = 0; j < width; j++) {
+                    if (MazeDisplay.isWall(row[j])) {
+                        MazeDisplay.paintFieldBackground(g, j * size, yOffset, size, MazeDisplay.WALL);
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Composes the fields of the current maze which changed compared to the specified maze into the canvas and
+     * repaints them. The canvas must be valid.
+     * @param previous The previously displayed maze of the same dimensions.
+     */
+    private void updateCanvas(final Maze previous) {
+        final Rectangle visible = this.getVisibleRect();
+        final Optional<int[]> changes = this.maze.getChangesSince(previous);
+        final Graphics2D g = this.canvas.createGraphics();
+        try {
+            if (changes.isPresent()) {
+                for (final int pos : changes.get()) {
+                    final int x = Position.unpackX(pos);
+                    final int y = Position.unpackY(pos);
+                    if (!this.updateCanvas(g, visible, previous, x, y, previous.codeAt(x, y), this.maze.codeAt(x, y))) {
+                        return;
+                    }
+                }
+                return;
+            }
+            final int width = this.maze.getWidth();
+            final short[] oldRow = new short[width];
+            final short[] newRow = new short[width];
+            for (int i = 0; i < this.maze.getHeight(); i++) {
+                previous.getRow(i, oldRow);
+                this.maze.getRow(i, newRow);
+                for (int j = 0; j < width; j++) {
+                    if (!this.updateCanvas(g, visible, previous, j, i, oldRow[j], newRow[j])) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Composes the specified field of the current maze into the canvas and repaints it if it changed compared to the
+     * specified maze. Invalidates the canvas and the static layer instead if the walls changed.
+     * @param g The graphics of the canvas.
+     * @param visible The visible part of this display.
+     * @param previous The previously displayed maze of the same dimensions.
+     * @param x The horizontal position of the field.
+     * @param y The vertical position of the field.
+     * @param previousCode The code of the field in the previous maze.
+     * @param code The code of the field in the current maze.
+     * @return False if the canvas has been invalidated.
+     */
+    private boolean updateCanvas(
+        final Graphics2D g,
+        final Rectangle visible,
+        final Maze previous,
+        final int x,
+        final int y,
+        final short previousCode,
+        final short code
+    ) {
+        if (MazeDisplay.isWall(previousCode) != MazeDisplay.isWall(code)) {
+            // the walls have been generated anew
+            this.staticLayer = null;
+            this.canvas = null;
+            this.repaint();
+            return false;
+        }
+        if (MazeDisplay.isChanged(previous, this.maze, previousCode, code)) {
+            final int size = this.canvasZoom;
+            final int xOffset = x * size;
+            final int yOffset = (this.maze.getHeight() - y - 1) * size;
+            g.drawImage(
+                this.staticLayer,
+                xOffset,
+                yOffset,
+                xOffset + size,
+                yOffset + size,
+                xOffset,
+                yOffset,
+                xOffset + size,
+                yOffset + size,
+                null
+            );
+            this.paintField(g, xOffset, yOffset, Maze.typeOf(code), Maze.snakeIndexOf(code), size);
+            if (MazeDisplay.intersects(visible, xOffset, yOffset, size)) {
+                this.repaint(xOffset, yOffset, size, size);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the fields of the current maze which changed compared to the specified maze into the raster and repaints
+     * them. The raster must be valid.
+     * @param previous The previously displayed maze of the same dimensions.
+     */
+    private void updateRaster(final Maze previous) {
+        final Rectangle visible = this.getVisibleRect();
+        final Optional<int[]> changes = this.maze.getChangesSince(previous);
+        if (changes.isPresent()) {
+            for (final int pos : changes.get()) {
+                final int x = Position.unpackX(pos);
+                final int y = Position.unpackY(pos);
+                this.updateRaster(visible, previous, x, y, previous.codeAt(x, y), this.maze.codeAt(x, y));
+            }
+            return;
+        }
+        final int width = this.maze.getWidth();
+        final short[] oldRow = new short[width];
+        final short[] newRow = new short[width];
+        for (int i = 0; i < this.maze.getHeight(); i++) {
+            previous.getRow(i, oldRow);
+            this.maze.getRow(i, newRow);
+            for (int j = 0; j < width; j++) {
+                this.updateRaster(visible, previous, j, i, oldRow[j], newRow[j]);
+            }
+        }
+    }
+
+    /**
+     * Writes the specified field of the current maze into the raster and repaints it if it changed compared to the
+     * specified maze.
+     * @param visible The visible part of this display.
+     * @param previous The previously displayed maze of the same dimensions.
+     * @param x The horizontal position of the field.
+     * @param y The vertical position of the field.
+     * @param previousCode The code of the field in the previous maze.
+     * @param code The code of the field in the current maze.
+     */
+    private void updateRaster(
+        final Rectangle visible,
+        final Maze previous,
+        final int x,
+        final int y,
+        final short previousCode,
+        final short code
+    ) {
+        if (MazeDisplay.isChanged(previous, this.maze, previousCode, code)) {
+            final int size = this.settings.getZoom();
+            final int flipped = this.maze.getHeight() - y - 1;
+            this.pixels[flipped * this.maze.getWidth() + x] = MazeDisplay.colorOf(code, this.maze);
+            if (MazeDisplay.intersects(visible, x * size, flipped * size, size)) {
+                this.repaint(x * size, flipped * size, size, size);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,261 @@
+package view;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.*;
+import java.util.*;
+
+import javax.swing.*;
+import javax.swing.event.*;
+
+import model.*;
+import util.*;
+
+/**
+ * Overview of a whole maze where each pixel summarizes a square block of fields. A block shows the most important
+ * content among its fields: a snake (in its color), a collision, food, a wall, or nothing (in this order). The part of
+ * the maze currently visible in the viewport of the maze display is outlined, and clicking or dragging on the overview
+ * scrolls the viewport there. When the maze is replaced, only the blocks containing fields in the change log of the
+ * maze are summarized again (see Maze.getChangesSince).
+ * @author cryingshadow
+ */
+public class MiniMap extends JPanel {
+
+    /**
+     * The color of the outline of the visible part.
+     */
+    private static final Color OUTLINE = Color.RED;
+
+    /**
+     * For serialization.
+     */
+    private static final long serialVersionUID = -4417629461082530281L;
+
+    /**
+     * The maximum width and height of the overview in pixels.
+     */
+    private static final int SIZE = 200;
+
+    /**
+     * @param type The type of a field.
+     * @return The priority of the specified type when summarizing a block (higher is more important).
+     */
+    private static int priorityOf(final FieldType type) {
+        switch (type) {
+            case COLLISION_ON_FOOD:
+            case COLLISION_ON_FREE:
+            case COLLISION_ON_WALL:
+                return 3;
+            case FOOD:
+                return 2;
+            case FREE:
+                return 0;
+            case SNAKE_BODY:
+            case SNAKE_HEAD:
+            case SNAKE_HEAD_EATING:
+                return 4;
+            case WALL:
+                return 1;
+            default:
+                throw new IllegalStateException("Someone found a new field type...");
+        }
+    }
+
+    /**
+     * The number of fields per pixel in each dimension.
+     */
+    private int block;
+
+    /**
+     * The summarized maze or null if none has been summarized yet.
+     */
+    private Maze maze;
+
+    /**
+     * The summarized maze (one pixel per block).
+     */
+    private BufferedImage overview;
+
+    /**
+     * The settings.
+     */
+    private final Settings settings;
+
+    /**
+     * The viewport showing the maze display.
+     */
+    private final JViewport viewport;
+
+    /**
+     * @param maze The initial maze.
+     * @param settings The settings.
+     * @param viewport The viewport showing the maze display.
+     */
+    public MiniMap(final Maze maze, final Settings settings, final JViewport viewport) {
+        this.settings = settings;
+        this.viewport = viewport;
+        this.setMaze(maze);
+        this.viewport.addChangeListener(
+            new ChangeListener() {
+
+                @Override
+                public void stateChanged(final ChangeEvent e) {
+                    MiniMap.this.repaint();
+                }
+
+            }
+        );
+        final MouseAdapter navigation = new MouseAdapter() {
+
+            @Override
+            public void mouseDragged(final MouseEvent e) {
+                MiniMap.this.scrollTo(e.getPoint());
+            }
+
+            @Override
+            public void mousePressed(final MouseEvent e) {
+                MiniMap.this.scrollTo(e.getPoint());
+            }
+
+        };
+        this.addMouseListener(navigation);
+        this.addMouseMotionListener(navigation);
+        this.setBorder(BorderFactory.createTitledBorder("Overview"));
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        final Insets insets = this.getInsets();
+        return new Dimension(
+            this.overview.getWidth() + insets.left + insets.right,
+            this.overview.getHeight() + insets.top + insets.bottom
+        );
+    }
+
+    /**
+     * Summarizes the specified maze. Must be called on the event dispatch thread.
+     * @param maze The maze to summarize.
+     */
+    public void setMaze(final Maze maze) {
+        final int width = maze.getWidth();
+        final int height = maze.getHeight();
+        final int newBlock = Math.max(1, (Math.max(width, height) + MiniMap.SIZE - 1) / MiniMap.SIZE);
+        final int overviewWidth = (width + newBlock - 1) / newBlock;
+        final int overviewHeight = (height + newBlock - 1) / newBlock;
+        final boolean resized =
+            this.overview == null
+            || this.overview.getWidth() != overviewWidth
+            || this.overview.getHeight() != overviewHeight;
+        if (resized) {
+            this.overview = new BufferedImage(overviewWidth, overviewHeight, BufferedImage.TYPE_INT_RGB);
+        }
+        final Optional<int[]> changes =
+            resized || this.maze == null || this.block != newBlock
+            ? Optional.empty()
+            : maze.getChangesSince(this.maze);
+        this.block = newBlock;
+        this.maze = maze;
+        final int[] pixels = ((DataBufferInt)this.overview.getRaster().getDataBuffer()).getData();
+        if (changes.isPresent()) {
+            final IntHashSet blocks = new IntHashSet();
+            for (final int pos : changes.get()) {
+                final int pixelRow = (height - Position.unpackY(pos) - 1) / newBlock;
+                if (blocks.add(pixelRow * overviewWidth + Position.unpackX(pos) / newBlock)) {
+                    this.summarizeBlock(pixels, Position.unpackX(pos) / newBlock, pixelRow);
+                }
+            }
+            if (!blocks.isEmpty()) {
+                this.repaint();
+            }
+            return;
+        }
+        final int[] priorities = new int[overviewWidth];
+        final short[] row = new short[width];
+        int currentRow = -1;
+        for (int i = 0; i < height; i++) {
+            final int pixelRow = (height - i - 1) / newBlock;
+            if (pixelRow != currentRow) {
+                // the first row of a block - reset the summaries of this pixel row
+                Arrays.fill(priorities, -1);
+                currentRow = pixelRow;
+            }
+            maze.getRow(i, row);
+            for (int j = 0; j < width; j++) {
+                final FieldType type = Maze.typeOf(row[j]);
+                final int priority = MiniMap.priorityOf(type);
+                final int pixel = j / newBlock;
+                if (priority > priorities[pixel]) {
+                    priorities[pixel] = priority;
+                    pixels[pixelRow * overviewWidth + pixel] = MazeDisplay.colorOf(row[j], maze);
+                }
+            }
+        }
+        if (resized) {
+            this.revalidate();
+        }
+        this.repaint();
+    }
+
+    @Override
+    protected void paintComponent(final Graphics g) {
+        super.paintComponent(g);
+        final Insets insets = this.getInsets();
+        g.drawImage(this.overview, insets.left, insets.top, null);
+        final Rectangle visible = this.viewport.getViewRect();
+        final double scale = this.block * (double)this.settings.getZoom();
+        g.setColor(MiniMap.OUTLINE);
+        g.drawRect(
+            insets.left + (int)(visible.x / scale),
+            insets.top + (int)(visible.y / scale),
+            Math.max(1, (int)(visible.width / scale) - 1),
+            Math.max(1, (int)(visible.height / scale) - 1)
+        );
+    }
+
+    /**
+     * Centers the viewport at the fields summarized by the specified point of this overview.
+     * @param point A point on this overview.
+     */
+    private void scrollTo(final Point point) {
+        final Insets insets = this.getInsets();
+        final double scale = this.block * (double)this.settings.getZoom();
+        final Dimension extent = this.viewport.getExtentSize();
+        final Dimension view = this.viewport.getViewSize();
+        final int x = (int)((point.x - insets.left) * scale) - extent.width / 2;
+        final int y = (int)((point.y - insets.top) * scale) - extent.height / 2;
+        this.viewport.setViewPosition(
+            new Point(
+                Math.max(0, Math.min(x, view.width - extent.width)),
+                Math.max(0, Math.min(y, view.height - extent.height))
+            )
+        );
+    }
+
+    /**
+     * Summarizes a single block of the current maze in the same way as summarizing the whole maze.
+     * @param pixels The pixels of the overview.
+     * @param pixelColumn The horizontal position of the pixel of the block.
+     * @param pixelRow The vertical position of the pixel of the block.
+     */
+    private void summarizeBlock(final int[] pixels, final int pixelColumn, final int pixelRow) {
+        final int width = this.maze.getWidth();
+        final int height = this.maze.getHeight();
+        final int left = pixelColumn * this.block;
+        final int right = Math.min(width, left + this.block);
+        // the rows are flipped such that the block starts at the row with the lowest index
+        final int top = Math.max(0, height - (pixelRow + 1) * this.block);
+        final int bottom = height - pixelRow * this.block;
+        int best = -1;
+        for (int i = top; i < bottom; i++) {
+            for (int j = left; j < right; j++) {
+                final short code = this.maze.codeAt(j, i);
+                final int priority = MiniMap.priorityOf(Maze.typeOf(code));
+                if (priority > best) {
+                    best = priority;
+                    pixels[pixelRow * this.overview.getWidth() + pixelColumn] = MazeDisplay.colorOf(code, this.maze);
+                }
+            }
+        }
+    }
+
+}
@@ -1,6 +1,8 @@
 package view;
 
 import java.awt.*;
+import java.awt.event.*;
+import java.io.*;
 import java.util.*;
 import java.util.List;
 
@@ -9,9 +11,11 @@ import javax.swing.border.*;
 import javax.swing.event.*;
 
 import model.*;
+import util.*;
 
 /**
- * Display for the status of the snakes.
+ * Display for the status of the snakes. The displayed snakes are replaced as a whole on the event dispatch thread (see
+ * setSnakes).
  * @author cryingshadow
  */
 public class SnakesDisplay extends JPanel {
@@ -48,6 +52,14 @@ public class SnakesDisplay extends JPanel {
         );
     }
 
+    /**
+     * @param text Some text.
+     * @return The specified text with all characters having a special meaning in HTML being escaped.
+     */
+    private static String escapeHtml(final String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
     /**
      * Data model for snakes.
      */
@@ -64,7 +76,7 @@ public class SnakesDisplay extends JPanel {
      */
     public SnakesDisplay(final Settings settings, final Snakes snakes) {
         this.settings = settings;
-        this.model = new SnakeListModel(snakes);
+        this.model = new SnakeListModel(snakes.getAllSnakes());
         this.settings.addChangeListener(
             new ChangeListener() {
 
@@ -111,7 +123,8 @@ public class SnakesDisplay extends JPanel {
                     return res;
                 }
                 final StringBuilder text = new StringBuilder();
-                text.append(value.getName());
+                text.append("<html>");
+                text.append(SnakesDisplay.escapeHtml(value.getName()));
                 text.append(" (");
                 text.append(value.getCurrentLength());
                 if (SnakesDisplay.this.settings.isRespawning()) {
@@ -120,6 +133,9 @@ public class SnakesDisplay extends JPanel {
                 }
                 text.append("): ");
                 text.append(value.isAlive() ? "ALIVE" : "DEAD");
+                text.append("<br><small>");
+                text.append(value.getDecisionStats().describe());
+                text.append("</small></html>");
                 final JLabel res = new JLabel(text.toString());
                 SnakesDisplay.configureLabel(res, list, index, value.getColor());
                 return res;
@@ -130,10 +146,56 @@ public class SnakesDisplay extends JPanel {
         list.setSelectionModel(new NoSelectionModel());
         list.setCellRenderer(renderer);
         list.setOpaque(false);
-        this.add(list);
+        final JButton exportButton = new JButton("EXPORT DECISIONS");
+        final JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export decision statistics as CSV");
+        chooser.setMultiSelectionEnabled(false);
+        exportButton.addActionListener(
+            new ActionListener() {
+
+                @Override
+                public void actionPerformed(final ActionEvent event) {
+                    if (chooser.showSaveDialog(SnakesDisplay.this) == JFileChooser.APPROVE_OPTION) {
+                        try {
+                            SnakesDisplay.this.exportDecisionStats(chooser.getSelectedFile(), snakes);
+                        } catch (final Exception e) {
+                            ExceptionDisplay.showException(SnakesDisplay.this, e);
+                        }
+                    }
+                }
+
+            }
+        );
+        this.setLayout(new BorderLayout());
+        this.add(list, BorderLayout.CENTER);
+        this.add(exportButton, BorderLayout.SOUTH);
         this.setBorder(BorderFactory.createTitledBorder("Snake Status"));
     }
 
+    /**
+     * Must be called on the event dispatch thread.
+     * @param snakes The snakes to display.
+     */
+    public void setSnakes(final List<Snake> snakes) {
+        this.model.setSnakes(snakes);
+    }
+
+    /**
+     * Writes the decision statistics of the specified snakes as CSV to the specified file.
+     * @param file The file.
+     * @param snakes The snakes.
+     * @throws IOException If the file cannot be written.
+     */
+    private void exportDecisionStats(final File file, final Snakes snakes) throws IOException {
+        final List<Pair<String, DecisionStats>> stats = new ArrayList<Pair<String, DecisionStats>>();
+        for (final Snake snake : snakes.getAllSnakes()) {
+            stats.add(new Pair<String, DecisionStats>(snake.getName(), new DecisionStats(snake.getDecisionStats())));
+        }
+        try (Writer out = new BufferedWriter(new FileWriter(file))) {
+            DecisionStats.writeCsv(out, stats);
+        }
+    }
+
     /**
      * Selection model allowing no selections.
      * @author cryingshadow
@@ -168,46 +230,16 @@ public class SnakesDisplay extends JPanel {
          */
         private final List<ListDataListener> listeners = new LinkedList<ListDataListener>();
 
-        /**
-         * The number of snakes.
-         */
-        private int size;
-
         /**
          * The snakes.
          */
-        private final Snakes snakes;
+        private List<Snake> snakes;
 
         /**
-         * @param snakes The snakes.
+         * @param snakes The initial snakes.
          */
-        public SnakeListModel(final Snakes snakes) {
-            this.snakes = snakes;
-            this.size = snakes.getAllSnakes().size();
-            this.snakes.addChangeListener(
-                new ChangeListener() {
-
-                    @Override
-                    public void stateChanged(final ChangeEvent event) {
-                        try {
-                            final int newSize = snakes.getAllSnakes().size();
-                            final int oldSize = SnakeListModel.this.size;
-                            SnakeListModel.this.size = newSize;
-                            SnakeListModel.this.notify(
-                                new ListDataEvent(
-                                    event.getSource(),
-                                    ListDataEvent.CONTENTS_CHANGED,
-                                    0,
-                                    Math.max(oldSize, newSize) - 1
-                                )
-                            );
-                        } catch (final Exception e) {
-                            ExceptionDisplay.showException(null, e);
-                        }
-                    }
-
-                }
-            );
+        public SnakeListModel(final List<Snake> snakes) {
+            this.snakes = List.copyOf(snakes);
         }
 
         @Override
@@ -217,15 +249,15 @@ public class SnakesDisplay extends JPanel {
 
         @Override
         public Snake getElementAt(final int index) {
-            if (this.size == 0) {
+            if (this.snakes.isEmpty()) {
                 return null;
             }
-            return this.snakes.getAllSnakes().get(index);
+            return this.snakes.get(index);
         }
 
         @Override
         public int getSize() {
-            return this.size == 0 ? 1 : this.size;
+            return this.snakes.isEmpty() ? 1 : this.snakes.size();
         }
 
         /**
@@ -243,6 +275,17 @@ public class SnakesDisplay extends JPanel {
             this.listeners.remove(l);
         }
 
+        /**
+         * @param snakes The snakes to show.
+         */
+        public void setSnakes(final List<Snake> snakes) {
+            final int oldSize = this.getSize();
+            this.snakes = snakes;
+            this.notify(
+                new ListDataEvent(this, ListDataEvent.CONTENTS_CHANGED, 0, Math.max(oldSize, this.getSize()) - 1)
+            );
+        }
+
     }
 
 }
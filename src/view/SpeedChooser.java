@@ -47,7 +47,11 @@ public class SpeedChooser extends JPanel {
                     Speed.SLOW,
                     Speed.NORMAL,
                     Speed.FAST,
-                    Speed.RACING
+                    Speed.RACING,
+                    Speed.HYPER,
+                    Speed.LUDICROUS,
+                    Speed.WARP,
+                    Speed.UNLIMITED
                 }
             );
         speedChooser.setSelectedItem(this.settings.getSpeed());
@@ -0,0 +1,25 @@
+package control;
+
+import java.util.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import control.samples.*;
+import model.*;
+
+public class MatchTest {
+
+    @Test
+    public void sameSeedSameGameTest() {
+        final Settings settings = new Settings();
+        settings.setWalls(10);
+        settings.setRespawning(true);
+        settings.setFoodPerSnake(2);
+        final MatchResult first = new Match(settings, SampleControls.create(new Random(5)), 42, 500).call();
+        final MatchResult second = new Match(settings, SampleControls.create(new Random(5)), 42, 500).call();
+        Assert.assertEquals(second.turns(), first.turns());
+        Assert.assertEquals(second.snakes(), first.snakes());
+    }
+
+}
@@ -0,0 +1,157 @@
+package control;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.Optional;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import control.samples.*;
+import generators.*;
+import model.*;
+import util.*;
+
+public class MazeEngineTest {
+
+    private static final int HEIGHT = 8;
+
+    private static final int WIDTH = 10;
+
+    private static Field[][] toFields(final Maze maze) {
+        final Field[][] res = new Field[maze.getHeight()][maze.getWidth()];
+        for (int y = 0; y < maze.getHeight(); y++) {
+            for (int x = 0; x < maze.getWidth(); x++) {
+                res[y][x] = maze.getField(x, y);
+            }
+        }
+        return res;
+    }
+
+    @Test
+    public void changesSinceTest() {
+        final Walls walls = new Walls(List.of(new Position(4, 4)));
+        final FoodPositions food = new FoodPositions(new FoodGenerator());
+        final Snakes snakes = new Snakes();
+        snakes.setSnakes(
+            List.of(new Snake(new Position(1, 1), 3, Optional.empty(), Color.RED, new UpLeftSnakeControl()))
+        );
+        final MazeEngine engine = new MazeEngine();
+        final Maze first = engine.rebuild(MazeEngineTest.WIDTH, MazeEngineTest.HEIGHT, snakes, walls, food);
+        Maze last = first;
+        for (int turn = 0; turn < 5; turn++) {
+            final Snake snake = snakes.getAllSnakes().get(0);
+            final Snake moved =
+                snake.normalMove(new Pair<Position, Boolean>(snake.getNextPosition(Direction.RIGHT), false));
+            snakes.setSnakes(List.of(moved));
+            engine.markChanged(snake, moved);
+            last = engine.update(MazeEngineTest.WIDTH, MazeEngineTest.HEIGHT, snakes, walls, food);
+        }
+        final Set<Integer> changes = new HashSet<Integer>();
+        for (final int pos : last.getChangesSince(first).get()) {
+            changes.add(pos);
+        }
+        for (int y = 0; y < MazeEngineTest.HEIGHT; y++) {
+            for (int x = 0; x < MazeEngineTest.WIDTH; x++) {
+                if (first.codeAt(x, y) != last.codeAt(x, y)) {
+                    Assert.assertTrue(changes.contains(Position.pack(x, y)));
+                }
+            }
+        }
+        Assert.assertTrue(first.getChangesSince(last).isEmpty());
+        final Maze rebuilt = engine.rebuild(MazeEngineTest.WIDTH, MazeEngineTest.HEIGHT, snakes, walls, food);
+        Assert.assertTrue(rebuilt.getChangesSince(last).isEmpty());
+    }
+
+    @Test
+    public void incrementalUpdateTest() {
+        final Random random = new Random(42);
+        final Walls walls = new Walls(List.of(new Position(4, 4), new Position(4, 5), new Position(5, 4)));
+        final FoodPositions food = new FoodPositions(new FoodGenerator());
+        final Snakes snakes = new Snakes();
+        snakes.setSnakes(
+            List.of(
+                new Snake(new Position(1, 1), 3, Optional.empty(), Color.RED, new UpLeftSnakeControl()),
+                new Snake(new Position(7, 2), 4, Optional.empty(), Color.BLUE, new UpLeftSnakeControl()),
+                new Snake(new Position(2, 6), 2, Optional.empty(), Color.GREEN, new UpLeftSnakeControl())
+            )
+        );
+        final MazeEngine engine = new MazeEngine();
+        engine.rebuild(MazeEngineTest.WIDTH, MazeEngineTest.HEIGHT, snakes, walls, food);
+        food.setMinAmount(5);
+        engine.markChanged(
+            food.generateFood(
+                MazeEngine.build(MazeEngineTest.WIDTH, MazeEngineTest.HEIGHT, snakes, walls, food)
+            )
+        );
+        for (int turn = 0; turn < 200; turn++) {
+            final List<Snake> previous = snakes.getAllSnakes();
+            final List<Snake> next = new ArrayList<Snake>();
+            for (final Snake snake : previous) {
+                if (!snake.isAlive()) {
+                    next.add(snake.respawn(new Position(random.nextInt(MazeEngineTest.WIDTH), 0), 2));
+                    continue;
+                }
+                if (random.nextInt(20) == 0) {
+                    next.add(snake.kill());
+                    continue;
+                }
+                final Position head = snake.getNextPosition(Direction.values()[random.nextInt(4)]);
+                final Pair<Position, Boolean> nextPos =
+                    new Pair<Position, Boolean>(
+                        new Position(
+                            Math.floorMod(head.getX(), MazeEngineTest.WIDTH),
+                            Math.floorMod(head.getY(), MazeEngineTest.HEIGHT)
+                        ),
+                        false
+                    );
+                next.add(random.nextBoolean() ? snake.growingMove(nextPos) : snake.normalMove(nextPos));
+            }
+            snakes.setSnakes(next);
+            for (int i = 0; i < next.size(); i++) {
+                engine.markChanged(previous.get(i), next.get(i));
+            }
+            Assert.assertTrue(
+                Arrays.deepEquals(
+                    MazeEngineTest.toFields(
+                        engine.update(MazeEngineTest.WIDTH, MazeEngineTest.HEIGHT, snakes, walls, food)
+                    ),
+                    MazeEngineTest.toFields(
+                        MazeEngine.build(MazeEngineTest.WIDTH, MazeEngineTest.HEIGHT, snakes, walls, food)
+                    )
+                ),
+                "Incremental maze differs in turn " + turn
+            );
+        }
+    }
+
+    @Test
+    public void publishedMazeUnchangedTest() {
+        final Walls walls = new Walls(List.of(new Position(4, 4)));
+        final FoodPositions food = new FoodPositions(new FoodGenerator());
+        final Snakes snakes = new Snakes();
+        snakes.setSnakes(
+            List.of(new Snake(new Position(1, 1), 3, Optional.empty(), Color.RED, new UpLeftSnakeControl()))
+        );
+        final MazeEngine engine = new MazeEngine();
+        final Maze first = engine.rebuild(MazeEngineTest.WIDTH, MazeEngineTest.HEIGHT, snakes, walls, food);
+        final Field[][] expected = MazeEngineTest.toFields(first);
+        for (int turn = 0; turn < 20; turn++) {
+            final Snake snake = snakes.getAllSnakes().get(0);
+            final Position head = snake.getNextPosition(Direction.UP);
+            final Snake moved =
+                snake.normalMove(
+                    new Pair<Position, Boolean>(
+                        new Position(head.getX(), Math.floorMod(head.getY(), MazeEngineTest.HEIGHT)),
+                        false
+                    )
+                );
+            snakes.setSnakes(List.of(moved));
+            engine.markChanged(snake, moved);
+            engine.update(MazeEngineTest.WIDTH, MazeEngineTest.HEIGHT, snakes, walls, food);
+        }
+        Assert.assertTrue(Arrays.deepEquals(MazeEngineTest.toFields(first), expected));
+    }
+
+}
@@ -0,0 +1,73 @@
+package control;
+
+import java.util.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import control.samples.*;
+import model.*;
+
+public class RemoteSnakeControlTest {
+
+    public static class HangingSnakeControl implements SnakeControl {
+
+        public HangingSnakeControl() throws InterruptedException {
+            Thread.sleep(Long.MAX_VALUE);
+        }
+
+        @Override
+        public String getName() {
+            return "Hanging";
+        }
+
+        @Override
+        public Direction nextDirection(final Maze maze, final int xPos, final int yPos) {
+            return Direction.UP;
+        }
+
+    }
+
+    private static MatchResult play(final ExecutionMode mode) {
+        final Settings settings = new Settings();
+        settings.setWalls(10);
+        settings.setRespawning(true);
+        settings.setFoodPerSnake(2);
+        settings.setExecutionMode(mode);
+        settings.setBudgetClock(BudgetClock.WALL_TIME);
+        settings.setDecisionBudget(5000);
+        settings.setDecisionCeiling(10000);
+        final List<SnakeControl> controls =
+            List.of(
+                new ImprovedShortestPathSnakeControl(),
+                new ShortestPathSnakeControl(),
+                new GreedySnakeControl(),
+                new RotatingSnakeControl()
+            );
+        return new Match(settings, controls, 42, 100).call();
+    }
+
+    @Test
+    public void closeTerminatesHangingProcessTest() throws InterruptedException {
+        final long before = ProcessHandle.current().children().filter(ProcessHandle::isAlive).count();
+        final RemoteSnakeControl control = new RemoteSnakeControl(HangingSnakeControl.class.getName());
+        control.close();
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (
+            ProcessHandle.current().children().filter(ProcessHandle::isAlive).count() > before
+            && System.currentTimeMillis() < deadline
+        ) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(ProcessHandle.current().children().filter(ProcessHandle::isAlive).count(), before);
+    }
+
+    @Test
+    public void sameGameAsInProcessTest() {
+        final MatchResult local = RemoteSnakeControlTest.play(ExecutionMode.PLATFORM_THREADS);
+        final MatchResult remote = RemoteSnakeControlTest.play(ExecutionMode.PROCESSES);
+        Assert.assertEquals(remote.turns(), local.turns());
+        Assert.assertEquals(remote.snakes(), local.snakes());
+    }
+
+}
@@ -0,0 +1,22 @@
+package control;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import control.samples.*;
+import model.*;
+
+public class TournamentTest {
+
+    @Test
+    public void sameSeedSameResultsTest() throws InterruptedException {
+        final Settings settings = new Settings();
+        settings.setWalls(10);
+        settings.setRespawning(true);
+        final Tournament tournament = new Tournament(settings, SampleControls.factories(), 4, 200);
+        final TournamentResults first = tournament.allTogether(4, 42);
+        final TournamentResults second = tournament.allTogether(4, 42);
+        Assert.assertEquals(second.getStandings(), first.getStandings());
+    }
+
+}
@@ -0,0 +1,51 @@
+package control;
+
+import java.util.*;
+import java.util.Optional;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import control.samples.*;
+import model.*;
+
+public class TurnControlTest {
+
+    @Test
+    public void listenerLifecycleTest() throws InterruptedException {
+        final Settings settings = new Settings();
+        settings.setSeed(Optional.of(7L));
+        settings.setSpeed(Speed.UNLIMITED);
+        final Competition competition = new Competition();
+        final CompetitionControl control =
+            new CompetitionControl(settings, new Maze(settings), new Snakes(), new SnakeControls(), competition);
+        try {
+            control.initSnakes(SampleControls.create(new Random(7)));
+            control.getEvents().subscribe(
+                TurnEvent.TurnCompleted.class,
+                event -> {
+                    if (event.turn() >= 5) {
+                        competition.setRunning(false);
+                    }
+                }
+            );
+            final int settingsListeners = settings.getListenerCount();
+            final int competitionListeners = competition.getListenerCount();
+            for (int i = 0; i < 50; i++) {
+                control.generateWalls();
+                control.startCompetition().join();
+            }
+            Assert.assertEquals(settings.getListenerCount(), settingsListeners);
+            Assert.assertEquals(competition.getListenerCount(), competitionListeners);
+            settings.setSpeed(Speed.MANUAL);
+            final Thread manual = control.startCompetition();
+            competition.setRunning(false);
+            manual.join(5000);
+            Assert.assertFalse(manual.isAlive());
+            Assert.assertEquals(settings.getListenerCount(), settingsListeners);
+        } finally {
+            control.shutdown();
+        }
+    }
+
+}
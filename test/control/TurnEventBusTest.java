@@ -0,0 +1,95 @@
+package control;
+
+import java.util.*;
+import java.util.Optional;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import control.samples.*;
+import model.*;
+
+public class TurnEventBusTest {
+
+    @Test
+    public void eventsPerTurnTest() {
+        final Settings settings = new Settings();
+        settings.setWalls(10);
+        settings.setFoodPerSnake(2);
+        settings.setSeed(Optional.of(42L));
+        final Snakes snakes = new Snakes();
+        final Competition competition = new Competition();
+        final CompetitionControl control =
+            new CompetitionControl(settings, new Maze(settings), snakes, new SnakeControls(), competition);
+        final List<TurnEvent.SnakeMoved> moves = new ArrayList<TurnEvent.SnakeMoved>();
+        final int[] eaten = new int[1];
+        final int[] completed = new int[1];
+        control.getEvents().subscribe(TurnEvent.SnakeMoved.class, moves::add);
+        control.getEvents().subscribe(TurnEvent.FoodEaten.class, event -> eaten[0]++);
+        control.getEvents().subscribe(
+            TurnEvent.TurnCompleted.class,
+            event -> {
+                completed[0]++;
+                Assert.assertEquals(event.turn(), completed[0]);
+                Assert.assertEquals(moves.size(), event.aliveSnakes());
+                for (final TurnEvent.SnakeMoved move : moves) {
+                    Assert.assertEquals(move.head(), snakes.getAllSnakes().get(move.snakeIndex()).getHeadPosition());
+                }
+                moves.clear();
+            }
+        );
+        try {
+            control.generateWalls();
+            control.initSnakes(SampleControls.create(new Random(5)));
+            control.prepareCompetition();
+            int initialLength = 0;
+            for (final Snake snake : snakes.getAllSnakes()) {
+                initialLength += snake.getCurrentLength();
+            }
+            while (competition.isRunning() && competition.getTurns() < 200) {
+                control.turn();
+            }
+            int maxLength = 0;
+            for (final Snake snake : snakes.getAllSnakes()) {
+                maxLength += snake.getMaxLength();
+            }
+            Assert.assertEquals(completed[0], competition.getTurns());
+            Assert.assertEquals(maxLength - initialLength, eaten[0]);
+        } finally {
+            control.shutdown();
+        }
+    }
+
+    @Test
+    public void repeatedCompetitionTest() {
+        final Settings settings = new Settings();
+        settings.setWalls(10);
+        settings.setFoodPerSnake(2);
+        settings.setSeed(Optional.of(42L));
+        final Competition competition = new Competition();
+        final CompetitionControl control =
+            new CompetitionControl(settings, new Maze(settings), new Snakes(), new SnakeControls(), competition);
+        final List<TurnEvent> events = new ArrayList<TurnEvent>();
+        control.getEvents().subscribe(TurnEvent.SnakeMoved.class, events::add);
+        control.getEvents().subscribe(TurnEvent.FoodSpawned.class, events::add);
+        final List<List<TurnEvent>> competitions = new ArrayList<List<TurnEvent>>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                // the same control replays the same competition for the same seed
+                control.generateWalls();
+                control.initSnakes(SampleControls.create(new Random(5)));
+                control.prepareCompetition();
+                while (competition.isRunning() && competition.getTurns() < 200) {
+                    control.turn();
+                }
+                competitions.add(new ArrayList<TurnEvent>(events));
+                events.clear();
+            }
+        } finally {
+            control.shutdown();
+        }
+        Assert.assertFalse(competitions.get(0).isEmpty());
+        Assert.assertEquals(competitions.get(1), competitions.get(0));
+    }
+
+}
@@ -0,0 +1,167 @@
+package control;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import control.samples.*;
+import model.*;
+
+public class TurnSchedulerTest {
+
+    private static SnakeControl control(final String name, final Runnable behavior) {
+        return new SnakeControl() {
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Direction nextDirection(final Maze maze, final int xPos, final int yPos) {
+                behavior.run();
+                return Direction.LEFT;
+            }
+
+        };
+    }
+
+    private static Runnable spin(final long millis) {
+        return () -> {
+            // ignores interrupts
+            final long end = System.nanoTime() + millis * 1000000;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        };
+    }
+
+    private static Runnable sleep(final long millis) {
+        return () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static Snake snake(final SnakeControl control) {
+        return new Snake(new Position(1, 1), 1, Optional.empty(), Color.RED, control);
+    }
+
+    @Test
+    public void budgetClockTest() {
+        final Settings settings = new Settings();
+        settings.setDecisionBudget(50);
+        settings.setDecisionCeiling(1000);
+        final Snake sleeping =
+            TurnSchedulerTest.snake(TurnSchedulerTest.control("Sleeping", TurnSchedulerTest.sleep(100)));
+        final List<Snake> snakes = Arrays.asList(sleeping);
+        final Maze maze = new Maze(settings);
+        settings.setBudgetClock(BudgetClock.WALL_TIME);
+        final TurnScheduler scheduler = new TurnScheduler(snakes.size(), settings);
+        try {
+            Assert.assertNull(scheduler.decide(snakes, maze)[0]);
+            Assert.assertEquals(sleeping.getDecisionStats().getTimeouts(), 1);
+            // sleeping does not use any CPU time
+            settings.setBudgetClock(BudgetClock.CPU_TIME);
+            Assert.assertEquals(scheduler.decide(snakes, maze)[0], Direction.LEFT);
+            Assert.assertEquals(sleeping.getDecisionStats().getTimeouts(), 1);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void disqualificationTest() {
+        final AtomicInteger computing = new AtomicInteger();
+        final AtomicInteger maxComputing = new AtomicInteger();
+        final Runnable spin = TurnSchedulerTest.spin(1000);
+        final Snake stuck =
+            TurnSchedulerTest.snake(
+                TurnSchedulerTest.control(
+                    "Stuck",
+                    () -> {
+                        maxComputing.accumulateAndGet(computing.incrementAndGet(), Math::max);
+                        spin.run();
+                        computing.decrementAndGet();
+                    }
+                )
+            );
+        final Settings settings = new Settings();
+        settings.setDecisionCeiling(50);
+        final List<Snake> snakes = Arrays.asList(stuck);
+        final Maze maze = new Maze(settings);
+        final TurnScheduler scheduler = new TurnScheduler(snakes.size(), settings);
+        try {
+            for (int i = 0; i < TurnScheduler.MAX_RUNAWAYS; i++) {
+                Assert.assertFalse(scheduler.isDisqualified(0));
+                Assert.assertNull(scheduler.decide(snakes, maze)[0]);
+            }
+            Assert.assertTrue(scheduler.isDisqualified(0));
+            Assert.assertNull(scheduler.decide(snakes, maze)[0]);
+            Assert.assertEquals(stuck.getDecisionStats().getRunaways(), TurnScheduler.MAX_RUNAWAYS);
+            Assert.assertEquals(stuck.getDecisionStats().getTimeouts(), TurnScheduler.MAX_RUNAWAYS);
+            Assert.assertEquals(maxComputing.get(), 1);
+            scheduler.reset();
+            Assert.assertFalse(scheduler.isDisqualified(0));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void slowAndFailingControlsTest() throws InterruptedException {
+        final long spinMillis = 500;
+        final Snake fast = TurnSchedulerTest.snake(TurnSchedulerTest.control("Fast", () -> {}));
+        final Settings settings = new Settings();
+        settings.setDecisionCeiling(200);
+        final Snake slow =
+            TurnSchedulerTest.snake(TurnSchedulerTest.control("Slow", TurnSchedulerTest.spin(spinMillis)));
+        final Snake failing =
+            TurnSchedulerTest.snake(
+                TurnSchedulerTest.control(
+                    "Failing",
+                    () -> {
+                        throw new IllegalStateException("Failing on purpose");
+                    }
+                )
+            );
+        final Snake dead = TurnSchedulerTest.snake(new UpLeftSnakeControl()).kill();
+        final List<Snake> snakes = Arrays.asList(fast, slow, failing, dead);
+        final Maze maze = new Maze(settings);
+        final TurnScheduler scheduler = new TurnScheduler(snakes.size(), settings);
+        try {
+            final Direction[] first = scheduler.decide(snakes, maze);
+            Assert.assertEquals(first[0], Direction.LEFT);
+            Assert.assertNull(first[1]);
+            Assert.assertNull(first[2]);
+            Assert.assertNull(first[3]);
+            // the slow control is still computing its runaway decision and is not asked again
+            final Direction[] second = scheduler.decide(snakes, maze);
+            Assert.assertEquals(second[0], Direction.LEFT);
+            Assert.assertNull(second[1]);
+            Thread.sleep(2 * spinMillis);
+            Assert.assertEquals(fast.getDecisionStats().getDecisions(), 2);
+            Assert.assertEquals(fast.getDecisionStats().getTimeouts(), 0);
+            Assert.assertEquals(fast.getDecisionStats().getRunaways(), 0);
+            Assert.assertEquals(slow.getDecisionStats().getDecisions(), 1);
+            Assert.assertEquals(slow.getDecisionStats().getTimeouts(), 2);
+            Assert.assertEquals(slow.getDecisionStats().getRunaways(), 2);
+            Assert.assertTrue(slow.getDecisionStats().getRunawayCpuTime() > 0);
+            Assert.assertEquals(failing.getDecisionStats().getExceptions(), 2);
+            Assert.assertEquals(failing.getDecisionStats().getTimeouts(), 0);
+            Assert.assertEquals(dead.getDecisionStats().getDecisions(), 0);
+            Assert.assertFalse(scheduler.isDisqualified(1));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+}
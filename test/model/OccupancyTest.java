@@ -0,0 +1,136 @@
+package model;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import control.samples.*;
+import util.*;
+
+public class OccupancyTest {
+
+    private static final int SIZE = 6;
+
+    private static Map<Integer, List<Integer>> naiveScan(final List<Snake> snakes) {
+        final Map<Integer, List<Integer>> result = new LinkedHashMap<Integer, List<Integer>>();
+        for (int i = 0; i < snakes.size(); i++) {
+            if (snakes.get(i).isAlive()) {
+                for (final Position pos : snakes.get(i).getPositions()) {
+                    if (pos != null) {
+                        result.computeIfAbsent(pos.pack(), key -> new ArrayList<Integer>()).add(i);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Position randomPosition(final Random random) {
+        return new Position(random.nextInt(OccupancyTest.SIZE), random.nextInt(OccupancyTest.SIZE));
+    }
+
+    @Test
+    public void addRemoveTest() {
+        final Random random = new Random(7);
+        final Occupancy occupancy = new Occupancy();
+        final List<Pair<Integer, Integer>> parts = new ArrayList<Pair<Integer, Integer>>();
+        for (int i = 0; i < 5000; i++) {
+            if (parts.isEmpty() || random.nextInt(5) < 3) {
+                final Pair<Integer, Integer> part = new Pair<Integer, Integer>(random.nextInt(10), random.nextInt(4));
+                occupancy.add(part.getKey(), part.getValue());
+                parts.add(part);
+            } else {
+                final Pair<Integer, Integer> part = parts.remove(random.nextInt(parts.size()));
+                occupancy.remove(part.getKey(), part.getValue());
+            }
+            for (int pos = 0; pos < 10; pos++) {
+                final Set<Integer> owners = new LinkedHashSet<Integer>();
+                int count = 0;
+                for (final Pair<Integer, Integer> part : parts) {
+                    if (part.getKey() == pos) {
+                        owners.add(part.getValue());
+                        count++;
+                    }
+                }
+                Assert.assertEquals(occupancy.getCount(pos), count);
+                Assert.assertEquals(new HashSet<Integer>(occupancy.getOwners(pos)), owners);
+                final int expectedOwner =
+                    owners.isEmpty() ? Occupancy.NONE : owners.size() > 1 ? Occupancy.SHARED : owners.iterator().next();
+                Assert.assertEquals(occupancy.getOwner(pos), expectedOwner);
+            }
+        }
+        occupancy.clear();
+        for (int pos = 0; pos < 10; pos++) {
+            Assert.assertEquals(occupancy.getCount(pos), 0);
+            Assert.assertEquals(occupancy.getOwner(pos), Occupancy.NONE);
+        }
+    }
+
+    @Test
+    public void snakesTest() {
+        final Random random = new Random(42);
+        // a small board such that snakes collide with each other and themselves
+        List<Snake> current = new ArrayList<Snake>();
+        for (int i = 0; i < 3; i++) {
+            final Position start = OccupancyTest.randomPosition(random);
+            current.add(new Snake(start, 3, Optional.empty(), Color.RED, new UpLeftSnakeControl()));
+        }
+        final Snakes snakes = new Snakes();
+        snakes.setSnakes(current);
+        int shared = 0;
+        int selfCollisions = 0;
+        for (int turn = 0; turn < 3000; turn++) {
+            final List<Snake> next = new ArrayList<Snake>(current.size());
+            for (final Snake snake : current) {
+                if (!snake.isAlive()) {
+                    next.add(random.nextInt(5) == 0 ? snake.respawn(OccupancyTest.randomPosition(random), 3) : snake);
+                } else if (random.nextInt(20) == 0) {
+                    next.add(snake.kill());
+                } else {
+                    final Direction direction = Direction.values()[random.nextInt(4)];
+                    final Position head = snake.getNextPosition(direction);
+                    final Position pos =
+                        new Position(
+                            Math.floorMod(head.getX(), OccupancyTest.SIZE),
+                            Math.floorMod(head.getY(), OccupancyTest.SIZE)
+                        );
+                    final Pair<Position, Boolean> nextPos = new Pair<Position, Boolean>(pos, false);
+                    next.add(random.nextInt(4) == 0 ? snake.growingMove(nextPos) : snake.normalMove(nextPos));
+                }
+            }
+            snakes.setSnakes(next);
+            current = next;
+            final Map<Integer, List<Integer>> expected = OccupancyTest.naiveScan(current);
+            for (int x = 0; x < OccupancyTest.SIZE; x++) {
+                for (int y = 0; y < OccupancyTest.SIZE; y++) {
+                    final int pos = Position.pack(x, y);
+                    final List<Integer> indices = expected.getOrDefault(pos, Collections.emptyList());
+                    final Set<Integer> owners = new LinkedHashSet<Integer>(indices);
+                    if (owners.size() > 1) {
+                        shared++;
+                    } else if (indices.size() > 1) {
+                        selfCollisions++;
+                    }
+                    Assert.assertEquals(snakes.isSnake(pos), !indices.isEmpty());
+                    Assert.assertEquals(
+                        Math.max(snakes.getUniqueSnakeIndexAt(pos), -1),
+                        owners.size() == 1 ? owners.iterator().next() : -1
+                    );
+                    Assert.assertEquals(snakes.isSelfCollisionAt(pos), owners.size() == 1 && indices.size() > 1);
+                    Assert.assertEquals(
+                        new HashSet<Snake>(snakes.getAllAliveSnakesAt(Position.unpack(pos))),
+                        owners.stream().map(next::get).collect(Collectors.toSet())
+                    );
+                }
+            }
+        }
+        Assert.assertTrue(shared > 0);
+        Assert.assertTrue(selfCollisions > 0);
+    }
+
+}
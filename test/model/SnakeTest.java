@@ -0,0 +1,47 @@
+package model;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.Optional;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import control.samples.*;
+import util.*;
+
+public class SnakeTest {
+
+    @Test
+    public void movesTest() {
+        final Random random = new Random(42);
+        final List<Snake> snakes = new ArrayList<Snake>();
+        final List<LinkedList<Position>> expected = new ArrayList<LinkedList<Position>>();
+        snakes.add(new Snake(new Position(0, 0), 4, Optional.empty(), Color.RED, new UpLeftSnakeControl()));
+        expected.add(new LinkedList<Position>(Arrays.asList(null, null, null, new Position(0, 0))));
+        for (int i = 0; i < 2000; i++) {
+            // moving older versions again branches the shared body
+            final int version = random.nextInt(10) == 0 ? random.nextInt(snakes.size()) : snakes.size() - 1;
+            final Position next = new Position(random.nextInt(20), random.nextInt(20));
+            final LinkedList<Position> positions = new LinkedList<Position>(expected.get(version));
+            if (random.nextInt(4) == 0) {
+                snakes.add(snakes.get(version).growingMove(new Pair<Position, Boolean>(next, false)));
+            } else {
+                positions.poll();
+                snakes.add(snakes.get(version).normalMove(new Pair<Position, Boolean>(next, false)));
+            }
+            positions.offer(next);
+            expected.add(positions);
+        }
+        for (int i = 0; i < snakes.size(); i++) {
+            final Snake snake = snakes.get(i);
+            final LinkedList<Position> positions = expected.get(i);
+            Assert.assertEquals(new ArrayList<Position>(snake.getPositions()), positions);
+            Assert.assertEquals(snake.getCurrentLength(), positions.size());
+            Assert.assertEquals(snake.getHeadPosition(), positions.getLast());
+            Assert.assertEquals(snake.getTailPosition(), Optional.ofNullable(positions.getFirst()));
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package model;
+
+import java.util.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+public class SnapshotExchangeTest {
+
+    @Test
+    public void latestSnapshotTest() {
+        final SnapshotExchange exchange = new SnapshotExchange();
+        Assert.assertTrue(exchange.take().isEmpty());
+        final Settings settings = new Settings();
+        final Snapshot first = new Snapshot(new Maze(settings), Collections.emptyList());
+        final Snapshot second = new Snapshot(new Maze(settings), Collections.emptyList());
+        exchange.publish(first);
+        exchange.publish(second);
+        Assert.assertSame(exchange.take().get(), second);
+        Assert.assertTrue(exchange.take().isEmpty());
+        Assert.assertEquals(exchange.getDropped(), 1);
+        exchange.publish(first);
+        Assert.assertSame(exchange.take().get(), first);
+        Assert.assertEquals(exchange.getDropped(), 1);
+    }
+
+}
@@ -0,0 +1,40 @@
+package util;
+
+import java.util.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+public class IntHashMapTest {
+
+    @Test
+    public void randomOperationsTest() {
+        final Random random = new Random(42);
+        final IntHashMap map = new IntHashMap();
+        final Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 100000; i++) {
+            final int key = random.nextInt(500);
+            switch (random.nextInt(3)) {
+                case 0:
+                    map.put(key, i);
+                    expected.put(key, i);
+                    break;
+                case 1:
+                    Assert.assertEquals(map.remove(key), expected.remove(key) != null);
+                    break;
+                default:
+                    Assert.assertEquals(map.add(key, 1), expected.merge(key, 1, Integer::sum).intValue());
+            }
+            Assert.assertEquals(map.size(), expected.size());
+            final int probe = random.nextInt(500);
+            Assert.assertEquals(map.containsKey(probe), expected.containsKey(probe));
+            Assert.assertEquals(map.get(probe, -1), expected.getOrDefault(probe, -1).intValue());
+        }
+        final Set<Integer> keys = new HashSet<Integer>();
+        for (final int key : map.keys()) {
+            keys.add(key);
+        }
+        Assert.assertEquals(keys, expected.keySet());
+    }
+
+}
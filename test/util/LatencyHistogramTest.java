@@ -0,0 +1,35 @@
+package util;
+
+import java.util.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentileTest() {
+        final Random random = new Random(42);
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long)Math.exp(random.nextDouble() * 20);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        Assert.assertEquals(histogram.getCount(), values.length);
+        Assert.assertEquals(histogram.getMax(), values[values.length - 1]);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), values[values.length - 1]);
+        for (final double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+            final long exact = values[(int)Math.ceil(percentile / 100 * values.length) - 1];
+            final long estimate = histogram.getValueAtPercentile(percentile);
+            Assert.assertTrue(estimate >= exact);
+            Assert.assertTrue(estimate <= exact + exact / 16);
+        }
+        final LatencyHistogram sum = new LatencyHistogram(histogram);
+        sum.add(histogram);
+        Assert.assertEquals(sum.getCount(), 2 * values.length);
+        Assert.assertEquals(sum.getValueAtPercentile(50), histogram.getValueAtPercentile(50));
+    }
+
+}